@@ -0,0 +1,153 @@
+/*
+ * ResourceGlob.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.resourcelist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A glob with the same semantics as the includes and excludes of the plugin, compiled for relative resources.
+ *
+ * @author Rob Spoor
+ */
+final class ResourceGlob {
+
+    private final String[] segments;
+    // The range of relative resources that start with the literal prefix of the glob; no other resources can match
+    final int from;
+    final int to;
+
+    ResourceGlob(String glob, Resources resources) {
+        List<String> segmentList = new ArrayList<>();
+        for (String segment : glob.split("/")) { //$NON-NLS-1$
+            // Empty segments are ignored, and consecutive ** segments are the same as a single one
+            boolean repeatedAnyDirectories = "**".equals(segment) //$NON-NLS-1$
+                    && !segmentList.isEmpty() && "**".equals(segmentList.get(segmentList.size() - 1)); //$NON-NLS-1$
+            if (!segment.isEmpty() && !repeatedAnyDirectories) {
+                segmentList.add(segment);
+            }
+        }
+        segments = segmentList.toArray(new String[0]);
+
+        String prefix = literalPrefix(segments);
+        from = resources.lowerBound(prefix);
+        to = prefixUpperBound(resources.relativeResources, prefix, from);
+    }
+
+    private static String literalPrefix(String[] segments) {
+        StringBuilder prefix = new StringBuilder();
+        for (String segment : segments) {
+            if ("**".equals(segment)) { //$NON-NLS-1$
+                // ** can also match no directories at all, so the preceding / is not part of the prefix
+                return prefix.length() == 0 ? "" : prefix.substring(0, prefix.length() - 1); //$NON-NLS-1$
+            }
+            for (int i = 0; i < segment.length(); i++) {
+                char c = segment.charAt(i);
+                if (c == '*' || c == '?') {
+                    return prefix.append(segment, 0, i).toString();
+                }
+            }
+            prefix.append(segment).append('/');
+        }
+        return prefix.length() == 0 ? "" : prefix.substring(0, prefix.length() - 1); //$NON-NLS-1$
+    }
+
+    // Returns the index of the first resource that does not start with the given prefix, starting at the first resource that does
+    private static int prefixUpperBound(String[] resources, String prefix, int from) {
+        int low = from;
+        int high = resources.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (resources[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    boolean matches(String resource) {
+        return matches(resource, 0, 0);
+    }
+
+    // Matches the segments starting at the given segment against the resource starting at the given index;
+    // an index that is larger than the resource's length means that there are no more path segments left
+    private boolean matches(String resource, int segment, int start) {
+        int length = resource.length();
+        int index = start;
+        for (int s = segment; s < segments.length; s++) {
+            String pattern = segments[s];
+            if ("**".equals(pattern)) { //$NON-NLS-1$
+                if (s + 1 == segments.length) {
+                    return true;
+                }
+                while (!matches(resource, s + 1, index)) {
+                    if (index > length) {
+                        return false;
+                    }
+                    int end = resource.indexOf('/', index);
+                    index = end == -1 ? length + 1 : end + 1;
+                }
+                return true;
+            }
+            if (index > length) {
+                return false;
+            }
+            int end = resource.indexOf('/', index);
+            if (end == -1) {
+                end = length;
+            }
+            if (!matchesSegment(pattern, resource, index, end)) {
+                return false;
+            }
+            index = end + 1;
+        }
+        return index > length;
+    }
+
+    private static boolean matchesSegment(String pattern, String resource, int start, int end) {
+        int patternLength = pattern.length();
+        int p = 0;
+        int r = start;
+        // The positions right after the last * in the pattern, and where that * started in the resource
+        int starP = -1;
+        int starR = -1;
+        while (r < end) {
+            // Segments never contain a /, so it can be used to mark the end of the pattern
+            char c = p < patternLength ? pattern.charAt(p) : '/';
+            if (c == '*') {
+                starP = ++p;
+                starR = r;
+            } else if (c == '?' || c == resource.charAt(r)) {
+                p++;
+                r++;
+            } else if (starP != -1) {
+                // let the last * match one more character
+                p = starP;
+                r = ++starR;
+            } else {
+                return false;
+            }
+        }
+        while (p < patternLength && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == patternLength;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * ResourceIndex.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.resourcelist;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+/**
+ * An index of all resource lists on the class path that are registered in a resource list index file.
+ * <p>
+ * The resource list Maven plugin registers resource list files in {@value #INDEX_RESOURCE} if its {@code registerResourceList} option is set
+ * to {@code true}. An instance of this class finds all of these files using a single call to {@link ClassLoader#getResources(String)}, reads the
+ * registered resource list files in parallel, and merges them into a single sorted resource list without duplicates. For each resource it keeps
+ * track of the class path entries that list it. Registered resource list files that do not exist are skipped.
+ * <p>
+ * Instances of this class are immutable and thread safe.
+ *
+ * @author Rob Spoor
+ * @since 1.1
+ */
+public final class ResourceIndex {
+
+    /**
+     * The name of resource list index files. These contain the paths of the resource list files of their class path entry, one per line.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/resource-list.index"; //$NON-NLS-1$
+
+    private final List<URL> origins;
+    private final Resources resources;
+    // The origins of resource i are originIndexes[originOffsets[i]] until originIndexes[originOffsets[i + 1]], in class path order
+    private final int[] originOffsets;
+    private final int[] originIndexes;
+
+    private ResourceIndex(List<URL> origins, String[][] originResources, ClassLoader classLoader) {
+        this.origins = Collections.unmodifiableList(origins);
+
+        int total = 0;
+        for (String[] resourcesOfOrigin : originResources) {
+            total += resourcesOfOrigin.length;
+        }
+
+        String[] mergedResources = new String[total];
+        int[] offsets = new int[total + 1];
+        int[] indexes = new int[total];
+        int count = merge(originResources, mergedResources, offsets, indexes);
+
+        // Like ClassLoader.getResourceAsStream, resources are read from the first class path entry that contains them
+        this.resources = new Resources(Arrays.copyOf(mergedResources, count), resource -> classLoader.getResourceAsStream(resource.substring(1)));
+        this.originOffsets = Arrays.copyOf(offsets, count + 1);
+        this.originIndexes = indexes;
+    }
+
+    private static int merge(String[][] originResources, String[] mergedResources, int[] offsets, int[] indexes) {
+        // Each cursor is an origin index and a position in the resources of that origin. For equal resources, origins come in class path order
+        PriorityQueue<int[]> cursors = new PriorityQueue<>((c1, c2) -> {
+            int result = originResources[c1[0]][c1[1]].compareTo(originResources[c2[0]][c2[1]]);
+            return result != 0 ? result : Integer.compare(c1[0], c2[0]);
+        });
+        for (int i = 0; i < originResources.length; i++) {
+            if (originResources[i].length > 0) {
+                cursors.add(new int[] { i, 0 });
+            }
+        }
+
+        int count = 0;
+        int originCount = 0;
+        while (!cursors.isEmpty()) {
+            int[] cursor = cursors.poll();
+            String resource = originResources[cursor[0]][cursor[1]];
+            if (count == 0 || !resource.equals(mergedResources[count - 1])) {
+                mergedResources[count] = resource;
+                offsets[count] = originCount;
+                count++;
+            }
+            indexes[originCount++] = cursor[0];
+
+            cursor[1]++;
+            if (cursor[1] < originResources[cursor[0]].length) {
+                cursors.add(cursor);
+            }
+        }
+        offsets[count] = originCount;
+        return count;
+    }
+
+    /**
+     * Loads all resource lists that are registered in resource list index files.
+     *
+     * @param classLoader The class loader to find resource list index files with, and to read resources with.
+     * @return A resource index with the resources of all registered resource lists.
+     * @throws NullPointerException If the given class loader is {@code null}.
+     * @throws UncheckedIOException If an I/O error occurs while reading resource list index files or resource list files.
+     */
+    public static ResourceIndex load(ClassLoader classLoader) {
+        Objects.requireNonNull(classLoader);
+
+        List<URL> origins = new ArrayList<>();
+        List<URL> indexFiles = new ArrayList<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(INDEX_RESOURCE);
+            while (urls.hasMoreElements()) {
+                URL indexFile = urls.nextElement();
+                String externalForm = indexFile.toExternalForm();
+                origins.add(toURL(externalForm.substring(0, externalForm.length() - INDEX_RESOURCE.length())));
+                indexFiles.add(indexFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Each origin can be read independently; toArray keeps the class path order
+        String[][] originResources = IntStream.range(0, indexFiles.size())
+                .parallel()
+                .mapToObj(i -> readResources(origins.get(i), indexFiles.get(i)))
+                .toArray(String[][]::new);
+
+        return new ResourceIndex(origins, originResources, classLoader);
+    }
+
+    private static String[] readResources(URL origin, URL indexFile) {
+        // An index file can register multiple resource list files, e.g. for multiple executions of the plugin
+        StringBuilder resourceLists = new StringBuilder();
+        for (String resourceListFile : Resources.parse(read(indexFile))) {
+            // Index files can still register resource list files that have since been removed, e.g. after an incremental build
+            String resourceList = resourceListFile.isEmpty() ? null : readIfExists(resolve(origin, resourceListFile));
+            if (resourceList != null) {
+                resourceLists.append(resourceList);
+                if (!resourceList.isEmpty() && !resourceList.endsWith("\n")) { //$NON-NLS-1$
+                    resourceLists.append('\n');
+                }
+            }
+        }
+        return Resources.parse(resourceLists.toString());
+    }
+
+    private static String read(URL url) {
+        try (InputStream inputStream = url.openStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String readIfExists(URL url) {
+        try (InputStream inputStream = url.openStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static URL resolve(URL origin, String path) {
+        try {
+            // Resource paths are not URL encoded, so encode them before appending them
+            return toURL(origin.toExternalForm() + new URI(null, null, path, null).getRawPath());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static URL toURL(String url) {
+        try {
+            return URI.create(url).toURL();
+        } catch (MalformedURLException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the resources of all registered resource lists.
+     * The resource list's {@link ResourceList#bytes(String)} and {@link ResourceList#open(String)} methods read resources from the first class
+     * path entry that contains them, like {@link ClassLoader#getResourceAsStream(String)}.
+     *
+     * @return A relative resource list with the resources of all registered resource lists.
+     */
+    public ResourceList resources() {
+        return resources.relative;
+    }
+
+    /**
+     * Returns the class path entries with registered resource lists.
+     *
+     * @return An unmodifiable list with the URLs of the class path entries with registered resource lists, in class path order.
+     */
+    public List<URL> origins() {
+        return origins;
+    }
+
+    /**
+     * Returns the class path entries that list a resource.
+     *
+     * @param resource The resource to return the class path entries for. This can be a relative or absolute resource.
+     * @return An unmodifiable list with the URLs of the class path entries that list the given resource, in class path order.
+     *         This list is empty if the resource is not listed.
+     * @throws NullPointerException If the given resource is {@code null}.
+     */
+    public List<URL> origins(String resource) {
+        int index = indexOf(resource);
+        if (index < 0) {
+            return List.of();
+        }
+        int from = originOffsets[index];
+        int to = originOffsets[index + 1];
+        URL[] result = new URL[to - from];
+        for (int i = from; i < to; i++) {
+            result[i - from] = origins.get(originIndexes[i]);
+        }
+        return List.of(result);
+    }
+
+    /**
+     * Returns the first class path entry that lists a resource. This is the class path entry that resources are read from.
+     *
+     * @param resource The resource to return the class path entry for. This can be a relative or absolute resource.
+     * @return An {@link Optional} with the URL of the first class path entry that lists the given resource,
+     *         or {@link Optional#empty()} if the resource is not listed.
+     * @throws NullPointerException If the given resource is {@code null}.
+     */
+    public Optional<URL> origin(String resource) {
+        int index = indexOf(resource);
+        return index >= 0
+                ? Optional.of(origins.get(originIndexes[originOffsets[index]]))
+                : Optional.empty();
+    }
+
+    private int indexOf(String resource) {
+        Objects.requireNonNull(resource);
+        String relativeResource = resource.startsWith("/") ? resource.substring(1) : resource; //$NON-NLS-1$
+        return resources.indexOf(relativeResource);
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * ResourceList.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.resourcelist;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable list of resources, as listed by the resource list Maven plugin.
+ * <p>
+ * Resource lists come in two forms: relative resource lists contain resources that do not start with a {@code /}, while absolute resource lists
+ * contain resources that do. Methods that take resources, directories or globs only return results for arguments of the same form.
+ * <p>
+ * Instances of this class are thread safe. They are normally obtained through a resource list class generated by the plugin, which provides the
+ * resource list file and access to the resources of its own module.
+ *
+ * @author Rob Spoor
+ * @since 1.1
+ */
+public final class ResourceList {
+
+    private final Resources resources;
+    private final boolean absolute;
+    private final List<String> list;
+
+    ResourceList(Resources resources, String[] names, boolean absolute) {
+        this.resources = resources;
+        this.absolute = absolute;
+        this.list = new ResourceRange(names, 0, names.length);
+    }
+
+    /**
+     * Loads a resource list from a resource list file.
+     *
+     * @param resourceListResource The absolute path of the resource list file, as used for {@link Class#getResourceAsStream(String)}.
+     * @param resourceLoader A function that opens resources with absolute paths, or returns {@code null} if a resource does not exist.
+     *                           This is used to read the resource list file, and by {@link #bytes(String)} and {@link #open(String)}.
+     * @return A relative resource list with the resources from the given resource list file.
+     * @throws NullPointerException If any of the arguments is {@code null}.
+     * @throws IllegalStateException If the resource list file does not exist.
+     * @throws UncheckedIOException If an I/O error occurs while reading the resource list file.
+     */
+    public static ResourceList load(String resourceListResource, Function<String, InputStream> resourceLoader) {
+        Objects.requireNonNull(resourceListResource);
+        Objects.requireNonNull(resourceLoader);
+
+        try (InputStream inputStream = resourceLoader.apply(resourceListResource)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Missing resource list: " + resourceListResource); //$NON-NLS-1$
+            }
+            return parse(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8), resourceLoader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates a resource list from the content of a resource list file.
+     *
+     * @param resourceList The content of a resource list file, with one resource per line.
+     * @param resourceLoader A function that opens resources with absolute paths, or returns {@code null} if a resource does not exist.
+     *                           This is used by {@link #bytes(String)} and {@link #open(String)}.
+     * @return A relative resource list with the resources from the given content.
+     * @throws NullPointerException If any of the arguments is {@code null}.
+     */
+    public static ResourceList parse(String resourceList, Function<String, InputStream> resourceLoader) {
+        Objects.requireNonNull(resourceList);
+        Objects.requireNonNull(resourceLoader);
+
+        return new Resources(Resources.parse(resourceList), resourceLoader).relative;
+    }
+
+    /**
+     * Returns a relative resource list with the same resources as this resource list.
+     *
+     * @return A relative resource list with the same resources as this resource list; this resource list itself if it's relative.
+     */
+    public ResourceList relative() {
+        return resources.relative;
+    }
+
+    /**
+     * Returns an absolute resource list with the same resources as this resource list.
+     *
+     * @return An absolute resource list with the same resources as this resource list; this resource list itself if it's absolute.
+     */
+    public ResourceList absolute() {
+        return resources.absolute();
+    }
+
+    /**
+     * Returns whether or not this resource list is absolute.
+     *
+     * @return {@code true} if this resource list is absolute, or {@code false} if it's relative.
+     */
+    public boolean isAbsolute() {
+        return absolute;
+    }
+
+    /**
+     * Returns the resources.
+     *
+     * @return An unmodifiable list with the resources, sorted.
+     */
+    public List<String> list() {
+        return list;
+    }
+
+    /**
+     * Returns a stream with the resources.
+     *
+     * @return A stream with the resources, sorted.
+     */
+    public Stream<String> stream() {
+        return StreamSupport.stream(list.spliterator(), false);
+    }
+
+    /**
+     * Performs an action for each resource.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the given action is {@code null}.
+     */
+    public void forEach(Consumer<? super String> action) {
+        list.forEach(action);
+    }
+
+    /**
+     * Returns the number of resources.
+     *
+     * @return The number of resources.
+     */
+    public int size() {
+        return list.size();
+    }
+
+    /**
+     * Returns whether or not a resource is listed.
+     *
+     * @param resource The resource to check.
+     * @return {@code true} if the given resource is listed, or {@code false} otherwise.
+     * @throws NullPointerException If the given resource is {@code null}.
+     */
+    public boolean contains(String resource) {
+        String relativeResource = relativeResource(resource);
+        return relativeResource != null && resources.indexOf(relativeResource) >= 0;
+    }
+
+    /**
+     * Returns the resources in a directory or any of its sub directories.
+     *
+     * @param directory The directory to return the resources of. An empty string ({@code /} for absolute resource lists) returns all resources.
+     * @return An unmodifiable list with the resources in the given directory or any of its sub directories, sorted.
+     * @throws NullPointerException If the given directory is {@code null}.
+     */
+    public List<String> subtree(String directory) {
+        String relativeDirectory = relativeDirectory(directory);
+        if (relativeDirectory == null) {
+            return List.of();
+        }
+        if (relativeDirectory.isEmpty()) {
+            return list;
+        }
+        // All resources in the directory start with directory + '/', and '0' is the character that comes directly after '/'
+        int from = resources.lowerBound(relativeDirectory + '/');
+        int to = resources.lowerBound(relativeDirectory + '0');
+        return list.subList(from, to);
+    }
+
+    /**
+     * Returns the resources that are directly in a directory.
+     *
+     * @param directory The directory to return the resources of. An empty string ({@code /} for absolute resource lists) returns the resources
+     *                      that are not in any directory.
+     * @return An unmodifiable list with the resources that are directly in the given directory, sorted.
+     * @throws NullPointerException If the given directory is {@code null}.
+     */
+    public List<String> children(String directory) {
+        String relativeDirectory = relativeDirectory(directory);
+        return relativeDirectory != null
+                ? resources.tree().children(list, relativeDirectory)
+                : List.of();
+    }
+
+    /**
+     * Returns all directories that contain resources, directly or in any of their sub directories.
+     *
+     * @return An unmodifiable list with all directories that contain resources, sorted.
+     */
+    public List<String> directories() {
+        ResourceTree tree = resources.tree();
+        return absolute ? tree.absoluteDirectories : tree.relativeDirectories;
+    }
+
+    /**
+     * Returns a stream with the resources that match a glob. Globs have the same semantics as the includes and excludes of the plugin.
+     *
+     * @param glob The glob to match resources against.
+     * @return A stream with the resources that match the given glob, sorted.
+     * @throws NullPointerException If the given glob is {@code null}.
+     */
+    public Stream<String> stream(String glob) {
+        ResourceGlob resourceGlob = resourceGlob(glob);
+        if (resourceGlob == null) {
+            return Stream.empty();
+        }
+        String[] relativeResources = resources.relativeResources;
+        return IntStream.range(resourceGlob.from, resourceGlob.to)
+                .filter(i -> resourceGlob.matches(relativeResources[i]))
+                .mapToObj(list::get);
+    }
+
+    /**
+     * Returns the resources that match a glob. Globs have the same semantics as the includes and excludes of the plugin.
+     *
+     * @param glob The glob to match resources against.
+     * @return An unmodifiable list with the resources that match the given glob, sorted.
+     * @throws NullPointerException If the given glob is {@code null}.
+     */
+    public List<String> list(String glob) {
+        ResourceGlob resourceGlob = resourceGlob(glob);
+        if (resourceGlob == null) {
+            return List.of();
+        }
+        String[] relativeResources = resources.relativeResources;
+        List<String> result = new ArrayList<>();
+        for (int i = resourceGlob.from; i < resourceGlob.to; i++) {
+            if (resourceGlob.matches(relativeResources[i])) {
+                result.add(list.get(i));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Returns the content of a resource.
+     *
+     * @param resource The resource to return the content of.
+     * @return An {@link Optional} with the content of the given resource, or {@link Optional#empty()} if the resource is not listed or does not
+     *         exist.
+     * @throws NullPointerException If the given resource is {@code null}.
+     * @throws UncheckedIOException If an I/O error occurs while reading the content.
+     */
+    public Optional<byte[]> bytes(String resource) {
+        try (InputStream inputStream = openListed(resource)) {
+            return inputStream != null
+                    ? Optional.of(inputStream.readAllBytes())
+                    : Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens a resource.
+     *
+     * @param resource The resource to open.
+     * @return An {@link Optional} with an {@link InputStream} to the given resource, or {@link Optional#empty()} if the resource is not listed or
+     *         does not exist.
+     * @throws NullPointerException If the given resource is {@code null}.
+     */
+    public Optional<InputStream> open(String resource) {
+        return Optional.ofNullable(openListed(resource));
+    }
+
+    private InputStream openListed(String resource) {
+        String relativeResource = relativeResource(resource);
+        // Resources that are not listed are not looked up at all
+        return relativeResource != null && resources.indexOf(relativeResource) >= 0
+                ? resources.resourceLoader.apply("/" + relativeResource) //$NON-NLS-1$
+                : null;
+    }
+
+    private String relativeResource(String resource) {
+        Objects.requireNonNull(resource);
+        if (!absolute) {
+            return resource;
+        }
+        return resource.startsWith("/") ? resource.substring(1) : null; //$NON-NLS-1$
+    }
+
+    private String relativeDirectory(String directory) {
+        Objects.requireNonNull(directory);
+        String relativeDirectory = directory;
+        if (absolute) {
+            if (!directory.startsWith("/")) { //$NON-NLS-1$
+                return null;
+            }
+            relativeDirectory = directory.substring(1);
+        }
+        return relativeDirectory.endsWith("/") //$NON-NLS-1$
+                ? relativeDirectory.substring(0, relativeDirectory.length() - 1)
+                : relativeDirectory;
+    }
+
+    private ResourceGlob resourceGlob(String glob) {
+        Objects.requireNonNull(glob);
+        // Like when listing resources, a glob only matches resources if both or neither start with a /
+        if (glob.startsWith("/") != absolute) { //$NON-NLS-1$
+            return null;
+        }
+        return resources.glob(absolute ? glob.substring(1) : glob);
+    }
+}
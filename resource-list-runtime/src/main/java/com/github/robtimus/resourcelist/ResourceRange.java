@@ -0,0 +1,78 @@
+/*
+ * ResourceRange.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.resourcelist;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * An unmodifiable list of consecutive resources.
+ *
+ * @author Rob Spoor
+ */
+final class ResourceRange extends AbstractList<String> implements RandomAccess {
+
+    // Resources are unique and sorted, and relative and absolute resources have the same order
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL
+            | Spliterator.IMMUTABLE;
+
+    private final String[] resources;
+    private final int from;
+    private final int to;
+
+    ResourceRange(String[] resources, int from, int to) {
+        this.resources = resources;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, to - from);
+        return resources[from + index];
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public List<String> subList(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, to - from);
+        return new ResourceRange(resources, from + fromIndex, from + toIndex);
+    }
+
+    @Override
+    public Spliterator<String> spliterator() {
+        return Spliterators.spliterator(resources, from, to, CHARACTERISTICS);
+    }
+
+    @Override
+    public void forEach(Consumer<? super String> action) {
+        Objects.requireNonNull(action);
+        for (int i = from; i < to; i++) {
+            action.accept(resources[i]);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * ResourceSelection.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.resourcelist;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable list of some of the resources, in a specific order.
+ *
+ * @author Rob Spoor
+ */
+final class ResourceSelection extends AbstractList<String> implements RandomAccess {
+
+    private final List<String> resources;
+    private final int[] indexes;
+    private final int from;
+    private final int to;
+
+    ResourceSelection(List<String> resources, int[] indexes, int from, int to) {
+        this.resources = resources;
+        this.indexes = indexes;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, to - from);
+        return resources.get(indexes[from + index]);
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+}
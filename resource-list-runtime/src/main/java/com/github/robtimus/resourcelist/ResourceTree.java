@@ -0,0 +1,91 @@
+/*
+ * ResourceTree.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.resourcelist;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The directory structure of resources.
+ *
+ * @author Rob Spoor
+ */
+final class ResourceTree {
+
+    // The directories that directly contain resources, sorted
+    private final String[] directoriesWithResources;
+    // The indexes of the resources, sorted by directory first, so the resources in each directory are grouped together
+    private final int[] resourcesByDirectory;
+    // For each directory, the offset of its first resource in resourcesByDirectory, followed by the number of resources
+    private final int[] directoryOffsets;
+
+    final List<String> relativeDirectories;
+    final List<String> absoluteDirectories;
+
+    ResourceTree(String[] resources) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (String resource : resources) {
+            counts.merge(directory(resource), 1, Integer::sum);
+        }
+        directoriesWithResources = counts.keySet().toArray(new String[0]);
+        directoryOffsets = new int[directoriesWithResources.length + 1];
+        int index = 0;
+        for (int count : counts.values()) {
+            directoryOffsets[index + 1] = directoryOffsets[index] + count;
+            index++;
+        }
+        // The resources are sorted, so the resources in each directory are added in order
+        int[] next = Arrays.copyOf(directoryOffsets, directoriesWithResources.length);
+        resourcesByDirectory = new int[resources.length];
+        for (int i = 0; i < resources.length; i++) {
+            resourcesByDirectory[next[Arrays.binarySearch(directoriesWithResources, directory(resources[i]))]++] = i;
+        }
+
+        Set<String> directories = new TreeSet<>();
+        for (String resource : resources) {
+            for (int i = resource.indexOf('/'); i != -1; i = resource.indexOf('/', i + 1)) {
+                directories.add(resource.substring(0, i));
+            }
+        }
+        String[] relative = directories.toArray(new String[0]);
+        String[] absolute = new String[relative.length];
+        for (int i = 0; i < relative.length; i++) {
+            absolute[i] = "/" + relative[i]; //$NON-NLS-1$
+        }
+        relativeDirectories = Collections.unmodifiableList(Arrays.asList(relative));
+        absoluteDirectories = Collections.unmodifiableList(Arrays.asList(absolute));
+    }
+
+    private static String directory(String resource) {
+        int index = resource.lastIndexOf('/');
+        return index == -1 ? "" : resource.substring(0, index); //$NON-NLS-1$
+    }
+
+    List<String> children(List<String> resources, String relativeDirectory) {
+        int index = Arrays.binarySearch(directoriesWithResources, relativeDirectory);
+        if (index < 0) {
+            return List.of();
+        }
+        return new ResourceSelection(resources, resourcesByDirectory, directoryOffsets[index], directoryOffsets[index + 1]);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Resources.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.resourcelist;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The resources shared by a relative resource list and its absolute counterpart.
+ * Everything apart from the relative resources themselves is created only when needed.
+ *
+ * @author Rob Spoor
+ */
+final class Resources {
+
+    // Globs are compiled only once, but the cache is bounded in case globs are created dynamically
+    private static final int MAX_GLOB_CACHE_SIZE = 256;
+
+    final String[] relativeResources;
+    final Function<String, InputStream> resourceLoader;
+    final ResourceList relative;
+
+    // These are immutable, so if multiple threads race to create them, each thread gets a usable instance
+    private ResourceList absolute;
+    private ResourceTree tree;
+
+    private final Map<String, ResourceGlob> globs = new ConcurrentHashMap<>();
+
+    Resources(String[] relativeResources, Function<String, InputStream> resourceLoader) {
+        this.relativeResources = relativeResources;
+        this.resourceLoader = resourceLoader;
+        this.relative = new ResourceList(this, relativeResources, false);
+    }
+
+    static String[] parse(String resourceList) {
+        int count = 0;
+        for (int i = resourceList.indexOf('\n'); i != -1; i = resourceList.indexOf('\n', i + 1)) {
+            count++;
+        }
+        boolean lastLineTerminated = resourceList.isEmpty() || resourceList.charAt(resourceList.length() - 1) == '\n';
+        String[] resources = new String[lastLineTerminated ? count : count + 1];
+        int start = 0;
+        for (int i = 0; i < resources.length; i++) {
+            int end = resourceList.indexOf('\n', start);
+            int next = end == -1 ? resourceList.length() : end + 1;
+            if (end == -1) {
+                end = resourceList.length();
+            }
+            if (end > start && resourceList.charAt(end - 1) == '\r') {
+                end--;
+            }
+            resources[i] = resourceList.substring(start, end);
+            start = next;
+        }
+        return sorted(resources);
+    }
+
+    private static String[] sorted(String[] resources) {
+        // The plugin writes resources sorted and without duplicates, so usually the resources can be used as-is
+        for (int i = 1; i < resources.length; i++) {
+            if (resources[i - 1].compareTo(resources[i]) >= 0) {
+                return Arrays.stream(resources).sorted().distinct().toArray(String[]::new);
+            }
+        }
+        return resources;
+    }
+
+    ResourceList absolute() {
+        ResourceList result = absolute;
+        if (result == null) {
+            String[] absoluteResources = new String[relativeResources.length];
+            for (int i = 0; i < relativeResources.length; i++) {
+                absoluteResources[i] = "/" + relativeResources[i]; //$NON-NLS-1$
+            }
+            result = new ResourceList(this, absoluteResources, true);
+            absolute = result;
+        }
+        return result;
+    }
+
+    ResourceTree tree() {
+        ResourceTree result = tree;
+        if (result == null) {
+            result = new ResourceTree(relativeResources);
+            tree = result;
+        }
+        return result;
+    }
+
+    ResourceGlob glob(String glob) {
+        ResourceGlob resourceGlob = globs.get(glob);
+        if (resourceGlob == null) {
+            resourceGlob = new ResourceGlob(glob, this);
+            if (globs.size() < MAX_GLOB_CACHE_SIZE) {
+                globs.putIfAbsent(glob, resourceGlob);
+            }
+        }
+        return resourceGlob;
+    }
+
+    int indexOf(String relativeResource) {
+        return Arrays.binarySearch(relativeResources, relativeResource);
+    }
+
+    // Returns the index of the first resource that is not smaller than the given value
+    int lowerBound(String value) {
+        int index = Arrays.binarySearch(relativeResources, value);
+        return index >= 0 ? index : -(index + 1);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * ResourceIndexTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.resourcelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@SuppressWarnings("nls")
+class ResourceIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoad() throws IOException {
+        Path first = createDirectory("first", Map.of(
+                ResourceIndex.INDEX_RESOURCE, "META-INF/first.resources\n",
+                "META-INF/first.resources", "a.txt\nshared.txt\n",
+                "a.txt", "first a",
+                "shared.txt", "first shared"));
+        Path second = createJar("second.jar", Map.of(
+                ResourceIndex.INDEX_RESOURCE, "META-INF/second one.resources\nMETA-INF/second-other.resources\n",
+                "META-INF/second one.resources", "shared.txt\nb/c.txt",
+                "META-INF/second-other.resources", "b/d.txt\n",
+                "shared.txt", "second shared",
+                "b/c.txt", "second c"));
+        // Resource lists that are not registered are ignored
+        Path third = createDirectory("third", Map.of(
+                "META-INF/third.resources", "e.txt\n",
+                "e.txt", "third e"));
+
+        try (URLClassLoader classLoader = classLoader(first, second, third)) {
+            ResourceIndex index = ResourceIndex.load(classLoader);
+
+            URL firstOrigin = first.toUri().toURL();
+            URL secondOrigin = URI.create("jar:" + second.toUri() + "!/").toURL();
+
+            assertEquals(List.of(firstOrigin, secondOrigin), index.origins());
+
+            ResourceList resources = index.resources();
+            assertEquals(List.of("a.txt", "b/c.txt", "b/d.txt", "shared.txt"), resources.list());
+            assertEquals(List.of("b/c.txt", "b/d.txt"), resources.subtree("b"));
+
+            assertEquals(List.of(firstOrigin), index.origins("a.txt"));
+            assertEquals(List.of(secondOrigin), index.origins("/b/c.txt"));
+            assertEquals(List.of(firstOrigin, secondOrigin), index.origins("shared.txt"));
+            assertEquals(List.of(), index.origins("e.txt"));
+
+            assertEquals(Optional.of(firstOrigin), index.origin("shared.txt"));
+            assertEquals(Optional.of(secondOrigin), index.origin("/b/d.txt"));
+            assertEquals(Optional.empty(), index.origin("e.txt"));
+
+            // Resources are read from the first class path entry that contains them
+            assertEquals("first shared", new String(resources.bytes("shared.txt").orElseThrow(), StandardCharsets.UTF_8));
+            assertEquals("second c", new String(resources.absolute().bytes("/b/c.txt").orElseThrow(), StandardCharsets.UTF_8));
+            // Resources that are listed but don't exist are handled like for any resource list
+            assertEquals(Optional.empty(), resources.bytes("b/d.txt"));
+            assertEquals(Optional.empty(), resources.bytes("e.txt"));
+        }
+    }
+
+    @Test
+    void testNoIndexFiles() throws IOException {
+        Path directory = createDirectory("empty", Map.of("a.txt", "a"));
+
+        try (URLClassLoader classLoader = classLoader(directory)) {
+            ResourceIndex index = ResourceIndex.load(classLoader);
+
+            assertEquals(List.of(), index.origins());
+            assertEquals(List.of(), index.resources().list());
+            assertEquals(List.of(), index.origins("a.txt"));
+        }
+    }
+
+    @Test
+    void testMissingResourceListFile() throws IOException {
+        Path directory = createDirectory("missing", Map.of(
+                ResourceIndex.INDEX_RESOURCE, "META-INF/missing.resources\nMETA-INF/existing.resources\n",
+                "META-INF/existing.resources", "a.txt\n",
+                "a.txt", "a"));
+        Path jar = createJar("missing.jar", Map.of(
+                ResourceIndex.INDEX_RESOURCE, "META-INF/missing.resources\n",
+                "b.txt", "b"));
+
+        try (URLClassLoader classLoader = classLoader(directory, jar)) {
+            ResourceIndex index = ResourceIndex.load(classLoader);
+
+            URL directoryOrigin = directory.toUri().toURL();
+            URL jarOrigin = URI.create("jar:" + jar.toUri() + "!/").toURL();
+
+            // Missing resource list files are skipped, but their class path entries are still origins
+            assertEquals(List.of(directoryOrigin, jarOrigin), index.origins());
+            assertEquals(List.of("a.txt"), index.resources().list());
+            assertEquals(List.of(directoryOrigin), index.origins("a.txt"));
+            assertEquals(List.of(), index.origins("b.txt"));
+        }
+    }
+
+    @Test
+    void testNullClassLoader() {
+        assertThrows(NullPointerException.class, () -> ResourceIndex.load(null));
+    }
+
+    private Path createDirectory(String name, Map<String, String> files) throws IOException {
+        Path directory = tempDir.resolve(name);
+        for (Map.Entry<String, String> file : files.entrySet()) {
+            Path path = directory.resolve(file.getKey());
+            Files.createDirectories(path.getParent());
+            Files.write(path, file.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        return directory;
+    }
+
+    private Path createJar(String name, Map<String, String> files) throws IOException {
+        Path jar = tempDir.resolve(name);
+        try (OutputStream outputStream = Files.newOutputStream(jar);
+                JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                jarOutputStream.putNextEntry(new JarEntry(file.getKey()));
+                jarOutputStream.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                jarOutputStream.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static URLClassLoader classLoader(Path... entries) throws IOException {
+        URL[] urls = new URL[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            urls[i] = entries[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * ResourceListTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.resourcelist;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("nls")
+class ResourceListTest {
+
+    private static final List<String> RESOURCES = List.of("a.txt", "a/b.txt", "a/c/d.txt", "a0.txt", "x/y/z.txt");
+
+    private static final Function<String, InputStream> RESOURCE_LOADER = resource -> "/missing.txt".equals(resource)
+            ? null
+            : new ByteArrayInputStream(resource.getBytes(StandardCharsets.UTF_8));
+
+    private static ResourceList relative() {
+        return ResourceList.parse(String.join("\n", RESOURCES) + "\n", RESOURCE_LOADER);
+    }
+
+    @Nested
+    class Load {
+
+        @Test
+        void testLoad() {
+            Map<String, String> files = Map.of("/test.resources", "b.txt\r\na.txt\nb.txt");
+            Function<String, InputStream> resourceLoader = resource -> files.containsKey(resource)
+                    ? new ByteArrayInputStream(files.get(resource).getBytes(StandardCharsets.UTF_8))
+                    : null;
+
+            ResourceList resourceList = ResourceList.load("/test.resources", resourceLoader);
+
+            // The resources are sorted and unique even if the file isn't
+            assertEquals(List.of("a.txt", "b.txt"), resourceList.list());
+        }
+
+        @Test
+        void testMissingResourceList() {
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> ResourceList.load("/test.resources", r -> null));
+            assertEquals("Missing resource list: /test.resources", exception.getMessage());
+        }
+
+        @Test
+        void testReadError() {
+            InputStream inputStream = new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("read error");
+                }
+            };
+
+            UncheckedIOException exception = assertThrows(UncheckedIOException.class,
+                    () -> ResourceList.load("/test.resources", r -> inputStream));
+            assertEquals("read error", exception.getCause().getMessage());
+        }
+    }
+
+    @Nested
+    class Parse {
+
+        @Test
+        void testEmpty() {
+            assertEquals(List.of(), ResourceList.parse("", RESOURCE_LOADER).list());
+        }
+
+        @Test
+        void testWithoutTrailingLineSeparator() {
+            assertEquals(List.of("a.txt", "b.txt"), ResourceList.parse("a.txt\nb.txt", RESOURCE_LOADER).list());
+        }
+
+        @Test
+        void testWithCarriageReturns() {
+            assertEquals(List.of("a.txt", "b.txt"), ResourceList.parse("a.txt\r\nb.txt\r\n", RESOURCE_LOADER).list());
+        }
+    }
+
+    @Test
+    void testRelativeAndAbsolute() {
+        ResourceList relative = relative();
+        ResourceList absolute = relative.absolute();
+
+        assertFalse(relative.isAbsolute());
+        assertTrue(absolute.isAbsolute());
+
+        assertSame(relative, relative.relative());
+        assertSame(relative, absolute.relative());
+        assertSame(absolute, relative.absolute());
+        assertSame(absolute, absolute.absolute());
+    }
+
+    @Test
+    void testList() {
+        ResourceList relative = relative();
+
+        assertEquals(RESOURCES, relative.list());
+        assertEquals(absolute(RESOURCES), relative.absolute().list());
+
+        List<String> list = relative.list();
+        assertThrows(UnsupportedOperationException.class, () -> list.add("b.txt"));
+        assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(RESOURCES.size()));
+    }
+
+    @Test
+    void testStream() {
+        ResourceList relative = relative();
+
+        assertEquals(RESOURCES, relative.stream().collect(Collectors.toList()));
+        assertEquals(absolute(RESOURCES), relative.absolute().stream().collect(Collectors.toList()));
+        assertEquals(RESOURCES, relative.stream().parallel().collect(Collectors.toList()));
+
+        Spliterator<String> spliterator = relative.list().spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.SIZED | Spliterator.IMMUTABLE));
+        assertEquals(RESOURCES.size(), spliterator.getExactSizeIfKnown());
+    }
+
+    @Test
+    void testForEach() {
+        ResourceList relative = relative();
+
+        List<String> resources = new ArrayList<>();
+        relative.forEach(resources::add);
+        assertEquals(RESOURCES, resources);
+
+        resources.clear();
+        relative.absolute().forEach(resources::add);
+        assertEquals(absolute(RESOURCES), resources);
+    }
+
+    @Test
+    void testSize() {
+        assertEquals(RESOURCES.size(), relative().size());
+        assertEquals(RESOURCES.size(), relative().absolute().size());
+    }
+
+    @Test
+    void testContains() {
+        ResourceList relative = relative();
+        ResourceList absolute = relative.absolute();
+
+        assertTrue(relative.contains("a/b.txt"));
+        assertFalse(relative.contains("/a/b.txt"));
+        assertFalse(relative.contains("a/b"));
+
+        assertTrue(absolute.contains("/a/b.txt"));
+        assertFalse(absolute.contains("a/b.txt"));
+    }
+
+    @Test
+    void testSubtree() {
+        ResourceList relative = relative();
+        ResourceList absolute = relative.absolute();
+
+        assertEquals(List.of("a/b.txt", "a/c/d.txt"), relative.subtree("a"));
+        assertEquals(List.of("a/b.txt", "a/c/d.txt"), relative.subtree("a/"));
+        assertEquals(List.of("a/c/d.txt"), relative.subtree("a/c"));
+        assertEquals(RESOURCES, relative.subtree(""));
+        assertEquals(List.of(), relative.subtree("b"));
+        assertEquals(List.of(), relative.subtree("/a"));
+
+        assertEquals(List.of("/a/b.txt", "/a/c/d.txt"), absolute.subtree("/a"));
+        assertEquals(absolute(RESOURCES), absolute.subtree("/"));
+        assertEquals(List.of(), absolute.subtree("a"));
+
+        assertEquals(List.of("a/c/d.txt"), relative.subtree("a").subList(1, 2));
+    }
+
+    @Test
+    void testChildren() {
+        ResourceList relative = relative();
+        ResourceList absolute = relative.absolute();
+
+        assertEquals(List.of("a/b.txt"), relative.children("a"));
+        assertEquals(List.of("a.txt", "a0.txt"), relative.children(""));
+        assertEquals(List.of(), relative.children("x"));
+        assertEquals(List.of(), relative.children("/a"));
+
+        assertEquals(List.of("/a/b.txt"), absolute.children("/a/"));
+        assertEquals(List.of("/a.txt", "/a0.txt"), absolute.children("/"));
+        assertEquals(List.of(), absolute.children("a"));
+    }
+
+    @Test
+    void testDirectories() {
+        ResourceList relative = relative();
+
+        assertEquals(List.of("a", "a/c", "x", "x/y"), relative.directories());
+        assertEquals(List.of("/a", "/a/c", "/x", "/x/y"), relative.absolute().directories());
+    }
+
+    @Test
+    void testGlobs() {
+        ResourceList relative = relative();
+        ResourceList absolute = relative.absolute();
+
+        assertEquals(List.of("a.txt", "a0.txt"), relative.list("*.txt"));
+        assertEquals(List.of("a.txt", "a/b.txt", "a/c/d.txt", "a0.txt", "x/y/z.txt"), relative.list("**/*.txt"));
+        assertEquals(List.of("a/b.txt", "a/c/d.txt"), relative.list("a/**"));
+        assertEquals(List.of("a/c/d.txt", "x/y/z.txt"), relative.list("*/*/?.txt"));
+        assertEquals(List.of(), relative.list("/*.txt"));
+
+        assertEquals(List.of("/a.txt", "/a0.txt"), absolute.list("/*.txt"));
+        assertEquals(List.of(), absolute.list("*.txt"));
+
+        assertEquals(relative.list("a/**"), relative.stream("a/**").collect(Collectors.toList()));
+        assertEquals(List.of(), relative.stream("/a/**").collect(Collectors.toList()));
+        assertEquals(List.of("/a/b.txt"), absolute.stream("/a/*").collect(Collectors.toList()));
+    }
+
+    @Test
+    void testBytes() {
+        ResourceList relative = relative();
+        ResourceList absolute = relative.absolute();
+
+        assertArrayEquals("/a/b.txt".getBytes(StandardCharsets.UTF_8), relative.bytes("a/b.txt").orElseThrow());
+        assertArrayEquals("/a/b.txt".getBytes(StandardCharsets.UTF_8), absolute.bytes("/a/b.txt").orElseThrow());
+
+        // Not listed, so the resource is not looked up
+        assertEquals(Optional.empty(), relative.bytes("b.txt"));
+        assertEquals(Optional.empty(), absolute.bytes("a/b.txt"));
+    }
+
+    @Test
+    void testBytesOfMissingResource() {
+        ResourceList resourceList = ResourceList.parse("missing.txt\n", RESOURCE_LOADER);
+
+        assertEquals(Optional.empty(), resourceList.bytes("missing.txt"));
+    }
+
+    @Test
+    void testOpen() throws IOException {
+        ResourceList relative = relative();
+
+        try (InputStream inputStream = relative.open("a/b.txt").orElseThrow()) {
+            assertArrayEquals("/a/b.txt".getBytes(StandardCharsets.UTF_8), inputStream.readAllBytes());
+        }
+
+        assertEquals(Optional.empty(), relative.open("b.txt"));
+        assertEquals(Optional.empty(), relative.absolute().open("a/b.txt"));
+    }
+
+    @Test
+    void testNullArguments() {
+        ResourceList relative = relative();
+
+        assertThrows(NullPointerException.class, () -> ResourceList.parse(null, RESOURCE_LOADER));
+        assertThrows(NullPointerException.class, () -> ResourceList.parse("", null));
+        assertThrows(NullPointerException.class, () -> ResourceList.load(null, RESOURCE_LOADER));
+        assertThrows(NullPointerException.class, () -> ResourceList.load("/test.resources", null));
+        assertThrows(NullPointerException.class, () -> relative.forEach(null));
+        assertThrows(NullPointerException.class, () -> relative.contains(null));
+        assertThrows(NullPointerException.class, () -> relative.subtree(null));
+        assertThrows(NullPointerException.class, () -> relative.children(null));
+        assertThrows(NullPointerException.class, () -> relative.list(null));
+        assertThrows(NullPointerException.class, () -> relative.stream(null));
+        assertThrows(NullPointerException.class, () -> relative.bytes(null));
+        assertThrows(NullPointerException.class, () -> relative.open(null));
+    }
+
+    private static List<String> absolute(List<String> resources) {
+        return resources.stream()
+                .map(resource -> "/" + resource)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * GeneratedResourceListClass.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A resource list class that is generated and compiled from the template, and loaded from an exploded directory or a JAR file.
+ * Its methods are called through method handles, because the class only exists at runtime.
+ *
+ * @author Rob Spoor
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings({ "javadoc", "nls" })
+public class GeneratedResourceListClass {
+
+    private static final String CLASS_NAME = "benchmark.ResourceList";
+    private static final String RESOURCE_LIST_FILE = "META-INF/benchmark.resources";
+
+    /**
+     * The supported modes of the resource list class. New modes only need a new constant to be covered by all benchmarks.
+     */
+    public enum Mode {
+        DEFAULT {
+            @Override
+            void configure(ResourceListClass resourceListClass) {
+                // use the defaults
+            }
+        },
+        CACHED {
+            @Override
+            void configure(ResourceListClass resourceListClass) {
+                resourceListClass.cacheResources = true;
+            }
+        },
+        COMPACT {
+            @Override
+            void configure(ResourceListClass resourceListClass) {
+                resourceListClass.compactResources = true;
+            }
+        },
+        INDEXED {
+            @Override
+            void configure(ResourceListClass resourceListClass) {
+                resourceListClass.indexResources = true;
+            }
+        },
+        EMBEDDED {
+            @Override
+            void configure(ResourceListClass resourceListClass) {
+                resourceListClass.embedResources = true;
+                resourceListClass.maxEmbeddedSize = Long.MAX_VALUE;
+            }
+        },
+        INSTRUMENTED {
+            @Override
+            void configure(ResourceListClass resourceListClass) {
+                resourceListClass.cacheResources = true;
+                resourceListClass.instrumentResources = true;
+            }
+        },
+        ;
+
+        abstract void configure(ResourceListClass resourceListClass);
+    }
+
+    /**
+     * The supported locations of the resource list class and resource list file.
+     */
+    public enum Location {
+        DIRECTORY,
+        JAR,
+    }
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    int resourceCount;
+
+    @Param({ "DEFAULT", "CACHED", "COMPACT", "INDEXED", "EMBEDDED", "INSTRUMENTED" })
+    Mode mode;
+
+    @Param({ "DIRECTORY", "JAR" })
+    Location location;
+
+    @Param({ "true", "false" })
+    boolean absolute;
+
+    private Path tempDir;
+    private URLClassLoader classLoader;
+
+    private Object resourceList;
+    private MethodHandle list;
+    private MethodHandle stream;
+    private MethodHandle forEach;
+
+    @Setup
+    public void generateClass() throws IOException, MojoExecutionException, ReflectiveOperationException {
+        tempDir = Files.createTempDirectory("resource-list-class-benchmark");
+        Path classesDir = tempDir.resolve("classes");
+
+        Collection<String> resources = new TreeSet<>(List.of(SyntheticResourceTree.paths(resourceCount, SyntheticResourceTree.Shape.BALANCED)));
+        Path resourceListFile = classesDir.resolve(RESOURCE_LIST_FILE);
+        Files.createDirectories(resourceListFile.getParent());
+        Files.write(resourceListFile, resources);
+
+        Resource resourceListResource = new Resource();
+        resourceListResource.setDirectory(resourceListFile.getParent().toString());
+        resourceListResource.addInclude(resourceListFile.getFileName().toString());
+        resourceListResource.setTargetPath("META-INF");
+
+        ResourceListClass resourceListClass = new ResourceListClass();
+        resourceListClass.className = CLASS_NAME;
+        resourceListClass.publicVisibility = true;
+        mode.configure(resourceListClass);
+
+        ResourceListClassGenerator generator = new ResourceListClassGenerator();
+        generator.compileClassFile(resourceListClass, resources, resourceListResource, null, classesDir);
+
+        URL url = location == Location.JAR
+                ? createJar(classesDir, tempDir.resolve("benchmark.jar")).toUri().toURL()
+                : classesDir.toUri().toURL();
+        // The generated class only depends on the JDK
+        classLoader = new URLClassLoader(new URL[] { url }, ClassLoader.getPlatformClassLoader());
+
+        Class<?> generatedClass = classLoader.loadClass(CLASS_NAME);
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        resourceList = generatedClass.getMethod(absolute ? "absolute" : "relative").invoke(null);
+        list = lookup.findVirtual(generatedClass, "list", MethodType.methodType(List.class))
+                .asType(MethodType.methodType(List.class, Object.class));
+        stream = lookup.findVirtual(generatedClass, "stream", MethodType.methodType(Stream.class))
+                .asType(MethodType.methodType(Stream.class, Object.class));
+        forEach = lookup.findVirtual(generatedClass, "forEach", MethodType.methodType(void.class, Consumer.class))
+                .asType(MethodType.methodType(void.class, Object.class, Consumer.class));
+    }
+
+    @TearDown
+    public void deleteClass() throws IOException {
+        classLoader.close();
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(tempDir)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    private static Path createJar(Path classesDir, Path jarFile) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(classesDir)) {
+            walk.filter(Files::isRegularFile).forEach(files::add);
+        }
+        try (OutputStream outputStream = Files.newOutputStream(jarFile);
+                JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+
+            for (Path file : files) {
+                String name = classesDir.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                jarOutputStream.putNextEntry(new JarEntry(name));
+                Files.copy(file, jarOutputStream);
+                jarOutputStream.closeEntry();
+            }
+        }
+        return jarFile;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<String> list() {
+        try {
+            return (List<String>) list.invokeExact(resourceList);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    Stream<String> stream() {
+        try {
+            return (Stream<String>) stream.invokeExact(resourceList);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void forEach(Consumer<? super String> action) {
+        try {
+            forEach.invokeExact(resourceList, (Consumer<?>) action);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        if (e instanceof IOException) {
+            return new UncheckedIOException((IOException) e);
+        }
+        return new IllegalStateException(e);
+    }
+}
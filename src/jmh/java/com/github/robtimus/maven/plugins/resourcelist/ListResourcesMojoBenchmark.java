@@ -0,0 +1,94 @@
+/*
+ * ListResourcesMojoBenchmark.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the full mojo pipeline, and writing the resource list file on its own.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@SuppressWarnings({ "javadoc", "nls" })
+public class ListResourcesMojoBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    int fileCount;
+
+    @Param({ "WIDE", "BALANCED", "DEEP" })
+    SyntheticResourceTree.Shape shape;
+
+    Path baseDir;
+    Path buildOutputDir;
+    Set<String> resources;
+
+    @Setup
+    public void createTree() throws IOException {
+        baseDir = SyntheticResourceTree.create(fileCount, shape);
+        buildOutputDir = Files.createTempDirectory("resource-list-benchmark");
+        resources = Set.of(SyntheticResourceTree.paths(fileCount, shape));
+    }
+
+    @Benchmark
+    public MavenProject execute() throws MojoExecutionException, MojoFailureException {
+        ListResourcesMojo mojo = createMojo();
+        mojo.execute(buildOutputDir);
+        return mojo.project;
+    }
+
+    @Benchmark
+    public Path writeResources() throws MojoExecutionException {
+        ListResourcesMojo mojo = createMojo();
+        mojo.writeResources(resources);
+        return mojo.resourceListFile;
+    }
+
+    private ListResourcesMojo createMojo() {
+        ListResourcesMojo mojo = new ListResourcesMojo();
+        mojo.project = new MavenProject();
+        mojo.includes = SyntheticResourceTree.INCLUDES;
+        mojo.excludes = SyntheticResourceTree.EXCLUDES;
+        mojo.addDefaultExcludes = true;
+        mojo.resourceListFile = buildOutputDir.resolve("META-INF/benchmark.resources");
+        mojo.resourceBaseDir = baseDir;
+        mojo.setLog(new NoOpLog());
+        return mojo;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * NoOpLog.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * A log that discards all messages, like Maven's log does for debug messages unless debug logging is enabled.
+ *
+ * @author Rob Spoor
+ */
+final class NoOpLog implements Log {
+
+    @Override
+    public boolean isDebugEnabled() {
+        return false;
+    }
+
+    @Override
+    public void debug(CharSequence content) {
+        // discard
+    }
+
+    @Override
+    public void debug(CharSequence content, Throwable error) {
+        // discard
+    }
+
+    @Override
+    public void debug(Throwable error) {
+        // discard
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return false;
+    }
+
+    @Override
+    public void info(CharSequence content) {
+        // discard
+    }
+
+    @Override
+    public void info(CharSequence content, Throwable error) {
+        // discard
+    }
+
+    @Override
+    public void info(Throwable error) {
+        // discard
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return false;
+    }
+
+    @Override
+    public void warn(CharSequence content) {
+        // discard
+    }
+
+    @Override
+    public void warn(CharSequence content, Throwable error) {
+        // discard
+    }
+
+    @Override
+    public void warn(Throwable error) {
+        // discard
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return false;
+    }
+
+    @Override
+    public void error(CharSequence content) {
+        // discard
+    }
+
+    @Override
+    public void error(CharSequence content, Throwable error) {
+        // discard
+    }
+
+    @Override
+    public void error(Throwable error) {
+        // discard
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * ResourceListClassBenchmark.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the latency of the access methods of generated resource list classes. Run with the GC profiler for the allocations per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@SuppressWarnings("javadoc")
+public class ResourceListClassBenchmark {
+
+    @Benchmark
+    public List<String> list(GeneratedResourceListClass resourceListClass) {
+        return resourceListClass.list();
+    }
+
+    @Benchmark
+    public void iterateList(GeneratedResourceListClass resourceListClass, Blackhole blackhole) {
+        for (String resource : resourceListClass.list()) {
+            blackhole.consume(resource);
+        }
+    }
+
+    @Benchmark
+    public int stream(GeneratedResourceListClass resourceListClass) {
+        // Not count(), as that may not traverse the stream at all
+        return resourceListClass.stream()
+                .mapToInt(String::length)
+                .sum();
+    }
+
+    @Benchmark
+    public void forEach(GeneratedResourceListClass resourceListClass, Blackhole blackhole) {
+        resourceListClass.forEach(blackhole::consume);
+    }
+}
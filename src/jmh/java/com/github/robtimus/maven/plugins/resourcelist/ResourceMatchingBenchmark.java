@@ -0,0 +1,72 @@
+/*
+ * ResourceMatchingBenchmark.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.logging.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures matching includes and excludes against paths without any file system access.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@SuppressWarnings({ "javadoc", "nls" })
+public class ResourceMatchingBenchmark {
+
+    private static final int PATH_COUNT = 10_000;
+
+    @Param({ "WIDE", "BALANCED", "DEEP" })
+    SyntheticResourceTree.Shape shape;
+
+    String[] paths;
+    ResourcesScanner scanner;
+    Log log;
+
+    @Setup
+    public void createPaths() {
+        paths = SyntheticResourceTree.paths(PATH_COUNT, shape);
+        log = new NoOpLog();
+        scanner = new ResourcesScanner(SyntheticResourceTree.INCLUDES, SyntheticResourceTree.EXCLUDES, true, log);
+    }
+
+    @Benchmark
+    public int isIncluded() {
+        int count = 0;
+        for (String path : paths) {
+            if (scanner.isIncluded(path, log)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * ResourcesScannerBenchmark.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.nio.file.Path;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures scanning synthetic resource trees.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@SuppressWarnings({ "javadoc", "nls" })
+public class ResourcesScannerBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    int fileCount;
+
+    @Param({ "WIDE", "BALANCED", "DEEP" })
+    SyntheticResourceTree.Shape shape;
+
+    Path baseDir;
+
+    @Setup
+    public void createTree() {
+        baseDir = SyntheticResourceTree.create(fileCount, shape);
+    }
+
+    @Benchmark
+    public SortedMap<String, Long> scan() throws MojoExecutionException {
+        ResourcesScanner scanner = new ResourcesScanner(SyntheticResourceTree.INCLUDES, SyntheticResourceTree.EXCLUDES, true, new NoOpLog());
+        return scanner.scan(baseDir);
+    }
+
+    @Benchmark
+    public SortedMap<String, Long> scanWithoutIncludesOrExcludes() throws MojoExecutionException {
+        ResourcesScanner scanner = new ResourcesScanner(null, null, false, new NoOpLog());
+        return scanner.scan(baseDir);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * SyntheticResourceTree.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Synthetic resource trees for benchmarks. Trees are generated only once and reused by later benchmark runs.
+ *
+ * @author Rob Spoor
+ */
+@SuppressWarnings("nls")
+final class SyntheticResourceTree {
+
+    // Includes and excludes like a project would use them; combined with the default excludes
+    static final String[] INCLUDES = { "**/*.properties", "**/*.json", "**/*.xml", "**/*.txt" };
+    static final String[] EXCLUDES = { "**/internal/**", "**/*-test.*" };
+
+    private static final String[] EXTENSIONS = { "properties", "json", "xml", "txt", "class", "png" };
+
+    private static final Path TREE_DIRECTORY = Paths.get(System.getProperty("resourcelist.benchmark.treeDirectory", "target/benchmark-trees"));
+
+    private SyntheticResourceTree() {
+    }
+
+    /**
+     * The available tree shapes.
+     */
+    enum Shape {
+        /** Few directories with many files each. */
+        WIDE(100, 1),
+        /** A moderate number of directories at a moderate depth. */
+        BALANCED(10, 3),
+        /** Many nested directories with few files each. */
+        DEEP(2, 10),
+        ;
+
+        private final int fanOut;
+        private final int depth;
+
+        Shape(int fanOut, int depth) {
+            this.fanOut = fanOut;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * Returns the relative paths of the files in a tree. Files are spread evenly over the directories at the tree's full depth.
+     * A few files are added in {@code META-INF} so the default excludes apply as well.
+     */
+    static String[] paths(int fileCount, Shape shape) {
+        int leafCount = 1;
+        for (int i = 0; i < shape.depth; i++) {
+            leafCount *= shape.fanOut;
+        }
+
+        String[] paths = new String[fileCount];
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < fileCount; i++) {
+            path.setLength(0);
+            if (i % 1000 == 0) {
+                path.append("META-INF/maven/").append(i).append("/pom.properties");
+            } else {
+                int leaf = i % leafCount;
+                for (int level = 0; level < shape.depth; level++) {
+                    int index = leaf % shape.fanOut;
+                    leaf /= shape.fanOut;
+                    path.append(index == shape.fanOut - 1 && shape.fanOut > 2 ? "internal" : "dir" + index).append('/');
+                }
+                path.append("file").append(i);
+                if (i % 50 == 1) {
+                    path.append("-test");
+                }
+                path.append('.').append(EXTENSIONS[i % EXTENSIONS.length]);
+            }
+            paths[i] = path.toString();
+        }
+        return paths;
+    }
+
+    /**
+     * Returns the base directory of a tree, creating the tree first if needed. File contents are small but not empty, so sizes are realistic
+     * enough for the scanner.
+     */
+    static Path create(int fileCount, Shape shape) {
+        Path baseDir = TREE_DIRECTORY.resolve(shape.name().toLowerCase(Locale.ROOT) + "-" + fileCount);
+        Path completedMarker = TREE_DIRECTORY.resolve(baseDir.getFileName() + ".completed");
+        if (Files.exists(completedMarker)) {
+            return baseDir;
+        }
+        try {
+            byte[] content = "key=value\n".getBytes(StandardCharsets.UTF_8);
+            for (String path : paths(fileCount, shape)) {
+                Path file = baseDir.resolve(path);
+                Files.createDirectories(file.getParent());
+                Files.write(file, content);
+            }
+            Files.createFile(completedMarker);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return baseDir;
+    }
+}
@@ -17,14 +17,19 @@
 
 package com.github.robtimus.maven.plugins.resourcelist;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.AbstractMojo;
@@ -45,6 +50,8 @@ import org.eclipse.aether.RepositorySystemSession;
 @Mojo(name = "list-resources", defaultPhase = LifecyclePhase.PROCESS_RESOURCES, requiresProject = true, threadSafe = true)
 public class ListResourcesMojo extends AbstractMojo {
 
+    static final String RESOURCE_LIST_INDEX_FILE = "META-INF/resource-list.index"; //$NON-NLS-1$
+
     @Parameter(defaultValue = "${project}", readonly = true)
     MavenProject project;
 
@@ -53,6 +60,10 @@ public class ListResourcesMojo extends AbstractMojo {
 
     Path resourceListFile;
     Path resourceBaseDir;
+    Path resourcePackFile;
+    Path resourceProfileFile;
+    Path nativeImageConfigDirectory;
+    Path reportFile;
 
     /**
      * The patterns that define which resources to include.
@@ -110,16 +121,177 @@ public class ListResourcesMojo extends AbstractMojo {
      *   <li>{@code outputDirectory}: the output directory where the resource list accessor class will be written to, without the package structure.
      *       This directory will be added as a project source root.
      *       Defaults to <code>${project.build.outputDirectory}/generated-sources/resource-lists</code>.</li>
+     *   <li>{@code memoryMapResourcePack}: {@code true} if the resource pack should be memory mapped when it's located in a directory instead of
+     *       a JAR file, or {@code false} (default) if it should always be read into memory. Only used if a resource pack file is given.</li>
+     *   <li>{@code cacheResources}: {@code true} if the class should read the resource list only once and keep it in memory, or {@code false}
+     *       (default) if it should read the resource list each time it's needed. If {@code true}, {@code list()} will return the same
+     *       unmodifiable list for each call, and {@code stream()} and {@code forEach(Consumer)} will not need to read or decode anything.
+     *       The class will also get method {@code int size()}, and {@code stream()} will return sized, sorted and distinct streams that can be
+     *       split efficiently for parallel processing.
+     *       Finally, the class will get methods {@code List<String> subtree(String directory)} and
+     *       {@code List<String> children(String directory)} that return the resources in a directory and its sub directories or only in the
+     *       directory itself respectively, and {@code List<String> directories()} that returns all directories that contain resources.
+     *       Resources can also be filtered using methods {@code Stream<String> stream(String glob)} and {@code List<String> list(String glob)},
+     *       which use the same pattern syntax as {@link #includes} and {@link #excludes}.</li>
+     *   <li>{@code compactResources}: {@code true} if the class should keep its resources in memory in a compact form, or {@code false}
+     *       (default) if it should keep each resource in memory as a separate string. If {@code true}, the class will keep the resources in
+     *       memory like with {@code cacheResources}, but as a single byte array where each resource only stores the part that differs from the
+     *       previous resource. Resources are decoded when they are accessed, so this trades some CPU time for (a lot) less memory.</li>
+     *   <li>{@code indexResources}: {@code true} if the class should index its resources, or {@code false} (default) otherwise.
+     *       If {@code true}, the class will keep the resources in memory like with {@code cacheResources}, and it will get method
+     *       {@code boolean contains(String resource)} that uses a hash table to check whether or not a resource is listed.
+     *       If no resource pack file is given, the class will also get method {@code Optional<InputStream> open(String resource)} that returns
+     *       an empty {@code Optional} for resources that are not listed, without trying to load them.</li>
+     *   <li>{@code initializeAtBuildTime}: {@code true} if the class should be initialized at build time by GraalVM's native-image,
+     *       or {@code false} (default) otherwise. If {@code true}, the class will read the resource list only once and keep it in memory, and
+     *       {@code list()} will return unmodifiable lists. If {@code generateNativeImageConfig} is {@code true} as well, the class and its nested
+     *       classes will be registered for build time initialization, so the resource list will be part of the native image heap.</li>
+     *   <li>{@code embedResources}: {@code true} if the resources should be embedded in the class as constants, or {@code false} (default) if
+     *       the class should read them from the resource list file. If {@code true}, the class will not need to perform any I/O to provide the
+     *       resources, and {@code list()} will return unmodifiable lists.</li>
+     *   <li>{@code maxEmbeddedSize}: the maximum size in bytes of the resource list for it to be embedded. If the resource list is larger, the
+     *       class will read the resources from the resource list file instead. Only used if {@code embedResources} is {@code true}.
+     *       Defaults to 262144 (256KB).</li>
+     *   <li>{@code cacheContent}: {@code true} if the class should provide access to the content of resources through a cache, or
+     *       {@code false} (default) otherwise. If {@code true} and no resource pack file is given, the class will get methods
+     *       {@code Optional<byte[]> bytes(String resource)} and {@code Optional<InputStream> open(String resource)} that are backed by a
+     *       concurrent least recently used cache that is bounded by the total size of the cached content. The class will also get static methods
+     *       {@code long contentCacheHits()}, {@code long contentCacheMisses()} and {@code long contentCacheEvictions()}.</li>
+     *   <li>{@code contentCacheSize}: the maximum total size in bytes of the cached content. This can be overridden at runtime using system
+     *       property <code><i>className</i>.contentCacheSize</code>. Only used if {@code cacheContent} is {@code true}.
+     *       Defaults to 16777216 (16MB).</li>
+     *   <li>{@code extractResources}: {@code true} if the class should be able to extract resources to a directory, or {@code false} (default)
+     *       otherwise. If {@code true}, the class will get methods {@code void extractTo(Path target, Executor executor)} and
+     *       {@code void extractTo(Path target, Executor executor, Predicate<? super String> filter)} that extract all or only matching
+     *       resources concurrently. Files that already have the same content are not rewritten.</li>
+     *   <li>{@code bulkLoadResources}: {@code true} if the class should be able to load the content of multiple resources concurrently, or
+     *       {@code false} (default) otherwise. If {@code true}, the class will get methods
+     *       {@code CompletableFuture<Map<String, byte[]>> readAll(Predicate<? super String> filter)},
+     *       {@code CompletableFuture<Map<String, byte[]>> readAll(Predicate<? super String> filter, int concurrency)} and
+     *       {@code void readAll(Predicate<? super String> filter, int concurrency, BiConsumer<? super String, ? super byte[]> action)}.
+     *       Content is loaded using virtual threads if available, or a bounded pool of daemon threads otherwise.</li>
+     *   <li>{@code directResourceAccess}: {@code true} if the class should read resources directly from the directory or JAR file that
+     *       contains it, or {@code false} (default) to use the class loader. Only used if {@code indexResources}, {@code cacheContent},
+     *       {@code extractResources}, {@code bulkLoadResources}, {@code fileSystem} or {@code preloadResources} is {@code true}, and no
+     *       resource pack is used.</li>
+     *   <li>{@code fileSystem}: {@code true} if the class should provide a read-only file system with the resources, or {@code false}
+     *       (default) otherwise. If {@code true}, the class will get method {@code static FileSystem fileSystem()}, and the resources
+     *       will be cached like when {@code cacheResources} is {@code true}.</li>
+     *   <li>{@code preloadResources}: {@code true} if the class should be able to load the content of resources in the background, or
+     *       {@code false} (default) otherwise. If {@code true}, the class will get methods {@code Preload preload(Predicate<? super String> filter)}
+     *       and {@code Preload preload(Predicate<? super String> filter, Executor executor)} that load the content of matching resources using a
+     *       low priority daemon thread or the given executor. The returned {@code Preload} object provides the progress and completion of
+     *       preloading, and allows it to be cancelled. If no resource pack is used, the content is kept in the content cache like when
+     *       {@code cacheContent} is {@code true}; otherwise the content of the resource pack is loaded. Preloaded content is never evicted from
+     *       the content cache; content that does not fit in {@code contentCacheSize} is not preloaded.</li>
+     *   <li>{@code instrumentResources}: {@code true} if the class should keep metrics of and notify listeners about access to resources, or
+     *       {@code false} (default) otherwise. If {@code true}, the class will get methods {@code static void addListener(Listener listener)},
+     *       {@code static void removeListener(Listener listener)} and {@code static MetricsMXBean metrics()}. Instrumentation can be
+     *       disabled at runtime by setting system property <code><i>className</i>.instrumentation</code> to {@code false}.</li>
+     *   <li>{@code registerMBean}: {@code true} if the class should register its metrics as a JMX MBean, or {@code false} (default)
+     *       otherwise. Implies {@code instrumentResources}.</li>
+     *   <li>{@code useRuntimeLibrary}: {@code true} if the class should be a thin facade over the {@code resource-list-runtime} library, or
+     *       {@code false} (default) if it should be self-contained. If {@code true}, the class will only get methods
+     *       {@code static ResourceList absolute()} and {@code static ResourceList relative()} that return a
+     *       {@code com.github.robtimus.resourcelist.ResourceList}, the project needs a dependency on the runtime library, and all other
+     *       options except {@code className}, {@code publicVisibility}, {@code outputDirectory}, {@code embedResources},
+     *       {@code maxEmbeddedSize} and {@code initializeAtBuildTime} are ignored. Cannot be combined with {@code compile}.</li>
+     *   <li>{@code compile}: {@code true} if the class should be compiled directly into the project build's output directory, or {@code false}
+     *       (default) if its source should be written to the output directory. If {@code true}, {@code outputDirectory} is ignored and no
+     *       project source root is added, so the class is available without relying on compiler plugin configuration.</li>
+     *   <li>{@code release}: the Java release to compile the class for. Only used if {@code compile} is {@code true}.
+     *       Defaults to the {@code maven.compiler.release} property if set, otherwise the {@code maven.compiler.target} property if set,
+     *       otherwise the release of the JDK that runs Maven.</li>
      * </ul>
      * <p>
-     * It's an error to specify the resource list class in combination with a resource list file that is not located in the project build's output
-     * directory (usually {@code target/classes}).
+     * If a resource pack file is given, the class will have two more non-static methods:
+     * <ul>
+     *   <li>{@code Optional<byte[]> bytes(String resource)} will return the content of a resource.</li>
+     *   <li>{@code Optional<InputStream> open(String resource)} will return an input stream to the content of a resource.</li>
+     * </ul>
+     * Both methods will return an empty {@code Optional} if the resource is not part of the resource pack.
+     * The resource pack is loaded only once, the first time either method is called.
+     * <p>
+     * It's an error to specify the resource list class in combination with a resource list file or resource pack file that is not located in the
+     * project build's output directory (usually {@code target/classes}).
+     * <p>
+     * The class only needs Java 8 if none of its nested elements except {@code className}, {@code publicVisibility}, {@code outputDirectory},
+     * {@code instrumentResources}, {@code registerMBean}, {@code compile} and {@code release} are set, no resource pack file is used and there
+     * are no hot resources. Otherwise it needs Java 11 or later, and it's an error if the class is compiled for an older release: {@code release}
+     * if {@code compile} is {@code true}, otherwise the {@code maven.compiler.release} or {@code maven.compiler.target} property.
      *
      * @since 1.0
      */
     @Parameter
     ResourceListClass resourceListClass;
 
+    /**
+     * Whether or not to generate configuration for GraalVM's native-image. If {@code true}, a {@code resource-config.json} file will be
+     * generated in {@code nativeImageConfigDirectory} that contains exactly the listed resources, the resource list file and the resource pack
+     * file (if any). If {@code resourceListClass} is used with {@code initializeAtBuildTime} set to {@code true}, a
+     * {@code native-image.properties} file will be generated as well that registers the resource list class for build time initialization.
+     *
+     * @since 1.1
+     */
+    @Parameter(defaultValue = "false")
+    boolean generateNativeImageConfig;
+
+    /**
+     * Whether or not to log each scanned resource, and whether it's listed or not. Resources are only logged if debug logging is enabled.
+     * This can produce a lot of output for large projects, and slows down scanning, so this should only be enabled to diagnose problems
+     * with includes and excludes. The include and exclude patterns and the number of resources each of them matched are always logged if debug
+     * logging is enabled.
+     *
+     * @since 1.1
+     */
+    @Parameter(defaultValue = "false")
+    boolean logResources;
+
+    /**
+     * Whether or not to register the resource list file in resource list index file {@code META-INF/resource-list.index} in the project build's
+     * output directory (usually {@code target/classes}). Registered resource list files of all class path entries can be found and merged at
+     * runtime using {@code com.github.robtimus.resourcelist.ResourceIndex} from the {@code resource-list-runtime} library, without scanning any
+     * JAR files. Resource list files that were registered by other executions of this plugin remain registered, unless they no longer exist.
+     * <p>
+     * It's an error to register a resource list file that is not located in the project build's output directory.
+     *
+     * @since 1.1
+     */
+    @Parameter(defaultValue = "false")
+    boolean registerResourceList;
+
+    /**
+     * Budgets for the listed resources. Each budget can have the following nested properties:
+     * <ul>
+     *   <li>{@code includes}: the patterns that define which listed resources the budget applies to. If not set, the budget applies to all
+     *       listed resources.</li>
+     *   <li>{@code maxCount}: the maximum number of resources.</li>
+     *   <li>{@code maxTotalSize}: the maximum combined size of all resources in bytes.</li>
+     *   <li>{@code maxSize}: the maximum size of any single resource in bytes.</li>
+     * </ul>
+     * Limits that are not set are not checked. If a budget is exceeded, the largest offending resources are reported.
+     *
+     * @since 1.1
+     */
+    @Parameter
+    ResourceBudget[] budgets;
+
+    /**
+     * The maximum number of offending resources to report per exceeded budget.
+     *
+     * @since 1.1
+     */
+    @Parameter(defaultValue = "10")
+    int budgetReportSize;
+
+    /**
+     * Whether or not to fail the build if a budget is exceeded. If {@code false}, exceeded budgets are only reported as warnings.
+     *
+     * @since 1.1
+     */
+    @Parameter(defaultValue = "true")
+    boolean failOnBudgetExceeded;
+
     /**
      * The file to store the resource list in.
      *
@@ -142,6 +314,71 @@ public class ListResourcesMojo extends AbstractMojo {
         this.resourceBaseDir = resourceBaseDir.toPath().toAbsolutePath().normalize();
     }
 
+    /**
+     * The file to bundle the listed resources in. If not given, no resource pack will be created.
+     * <p>
+     * A resource pack contains the content of all listed resources in a single file, preceded by an index.
+     * Resources with identical content share their content in the resource pack.
+     * This allows the listed resources to be loaded using a single resource lookup.
+     *
+     * @param resourcePackFile The file to bundle the listed resources in.
+     * @since 1.1
+     */
+    @Parameter
+    public void setResourcePackFile(File resourcePackFile) {
+        this.resourcePackFile = resourcePackFile.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * A resource profile that was recorded by the resource list class. If given, the listed resources in the profile are treated as hot
+     * resources:
+     * <ul>
+     *   <li>The resource pack, if any, contains the content of hot resources first, in the order in which they were first accessed. The resource
+     *       list and the index of the resource pack remain sorted.</li>
+     *   <li>The resource list class, if any, gets method {@code List<String> hotResources()} that returns the hot resources in the order in
+     *       which they were first accessed. If {@code preloadResources} is {@code true}, hot resources are preloaded first.</li>
+     * </ul>
+     * A resource profile is recorded by running the application with system property <code><i>className</i>.recordProfile</code> set to the
+     * file to write the profile to, where <code><i>className</i></code> is the fully qualified name of the resource list class. The resource
+     * list class then records the resources that are accessed using {@code bytes(String)} and {@code open(String)}, and writes them to the
+     * file when the JVM shuts down. If the profile does not exist, a warning is logged and no resources are treated as hot resources.
+     *
+     * @param resourceProfileFile A resource profile that was recorded by the resource list class.
+     * @since 1.1
+     */
+    @Parameter
+    public void setResourceProfileFile(File resourceProfileFile) {
+        this.resourceProfileFile = resourceProfileFile.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * The directory to write GraalVM native-image configuration files to. Only used if {@code generateNativeImageConfig} is {@code true}.
+     *
+     * @param nativeImageConfigDirectory The directory to write GraalVM native-image configuration files to.
+     * @since 1.1
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}/META-INF/native-image/${project.groupId}/${project.artifactId}", required = true)
+    public void setNativeImageConfigDirectory(File nativeImageConfigDirectory) {
+        this.nativeImageConfigDirectory = nativeImageConfigDirectory.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * The file to write a JSON report with timings and statistics to. If not given, no report will be written.
+     * <p>
+     * The report contains the number and total size of the listed resources, the number of directories and files that were visited, the
+     * number of directories that were skipped because none of their files could be listed, the number of resources that each include and
+     * exclude pattern matched, and the time spent in each phase in nanoseconds. The phases are {@code walk}, {@code match}, {@code sort},
+     * {@code budgets}, {@code write}, {@code pack}, {@code classGeneration} and {@code nativeImageConfig}; phases that were not needed are
+     * omitted. A summary of the report is always logged.
+     *
+     * @param reportFile The file to write a JSON report with timings and statistics to.
+     * @since 1.1
+     */
+    @Parameter
+    public void setReportFile(File reportFile) {
+        this.reportFile = reportFile.toPath().toAbsolutePath().normalize();
+    }
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         Path buildOutputDir = Paths.get(project.getBuild().getOutputDirectory()).toAbsolutePath().normalize();
@@ -151,37 +388,175 @@ public class ListResourcesMojo extends AbstractMojo {
     void execute(Path buildOutputDir) throws MojoExecutionException, MojoFailureException {
         Log log = getLog();
 
-        ResourcesScanner scanner = new ResourcesScanner(includes, excludes, addDefaultExcludes, log);
-        // Exclude the resource list file itself
+        ResourcesScanner scanner = new ResourcesScanner(includes, excludes, addDefaultExcludes, logResources, log);
+        // Exclude the resource list file and resource pack file themselves
         scanner.excludeFile(resourceListFile);
-        Set<String> resources = scanner.scan(resourceBaseDir);
+        if (resourcePackFile != null) {
+            scanner.excludeFile(resourcePackFile);
+        }
+        if (resourceProfileFile != null) {
+            scanner.excludeFile(resourceProfileFile);
+        }
+        if (reportFile != null) {
+            scanner.excludeFile(reportFile);
+        }
+        if (registerResourceList) {
+            scanner.excludeFile(buildOutputDir.resolve(RESOURCE_LIST_INDEX_FILE));
+        }
+        if (generateNativeImageConfig) {
+            scanner.excludeFile(nativeImageConfigDirectory.resolve(NativeImageConfigWriter.RESOURCE_CONFIG_FILE));
+            scanner.excludeFile(nativeImageConfigDirectory.resolve(NativeImageConfigWriter.NATIVE_IMAGE_PROPERTIES_FILE));
+        }
+        SortedMap<String, Long> scannedResources = scanner.scan(resourceBaseDir);
+        Set<String> resources = scannedResources.keySet();
+
+        ListResourcesReport report = new ListResourcesReport(scanner.statistics());
+        report.scanned(scannedResources);
+
+        if (budgets != null && budgets.length > 0) {
+            long start = System.nanoTime();
+            ResourceBudgetChecker budgetChecker = new ResourceBudgetChecker(budgetReportSize, failOnBudgetExceeded, log);
+            budgetChecker.check(budgets, scannedResources);
+            report.phase(ListResourcesReport.BUDGETS, start);
+        }
+
+        List<String> hotResources = resourceProfileFile != null ? readHotResources(resources) : List.of();
 
         log.info(Messages.listResources.writingListFile(resourceListFile));
+        long writeStart = System.nanoTime();
         writeResources(resources);
+        report.phase(ListResourcesReport.WRITE, writeStart);
 
-        Resource resourceListResource = resourceListResource(buildOutputDir);
+        Resource resourceListResource = resource(resourceListFile, buildOutputDir);
         if (resourceListResource != null) {
             project.addResource(resourceListResource);
             log.debug(Messages.listResources.addedListFileResource(resourceListFile));
         }
 
+        if (registerResourceList) {
+            if (resourceListResource == null) {
+                throw new MojoFailureException(Messages.listResources.registerResourceListForNonResource());
+            }
+            registerResourceList(buildOutputDir);
+        }
+
+        Resource resourcePackResource = null;
+        if (resourcePackFile != null) {
+            log.info(Messages.listResources.writingPackFile(resourcePackFile));
+            long start = System.nanoTime();
+            ResourcePackWriter packWriter = new ResourcePackWriter(log);
+            packWriter.write(resourceBaseDir, resources, hotResources, resourcePackFile);
+            report.phase(ListResourcesReport.PACK, start);
+
+            resourcePackResource = resource(resourcePackFile, buildOutputDir);
+            if (resourcePackResource != null) {
+                project.addResource(resourcePackResource);
+                log.debug(Messages.listResources.addedPackFileResource(resourcePackFile));
+            }
+        }
+
         if (resourceListClass != null) {
             if (resourceListResource == null) {
                 throw new MojoFailureException(Messages.listResources.resourceListClassForNonResource());
             }
-            if (resourceListClass.outputDirectory == null) {
-                resourceListClass.setDefaultOutputDirectory(project);
-                log.debug(Messages.listResources.setDefaultResourceListClassOutputDirectory(resourceListClass.outputDirectory));
+            if (resourcePackFile != null && resourcePackResource == null) {
+                throw new MojoFailureException(Messages.listResources.resourceListClassForNonResourcePack());
+            }
+            if (resourceListClass.useRuntimeLibrary && resourceListClass.compile) {
+                throw new MojoFailureException(Messages.listResources.resourceListClassCompileWithRuntimeLibrary());
             }
+            checkRelease(resourcePackResource != null || !hotResources.isEmpty());
+            long start = System.nanoTime();
             ResourceListClassGenerator generator = new ResourceListClassGenerator();
-            generator.generateClassFile(resourceListClass, resourceListResource);
+            if (resourceListClass.embedResources && !generator.embedsResources(resourceListClass, resources)) {
+                log.info(Messages.listResources.resourceListTooLargeToEmbed(resourceListClass.maxEmbeddedSize));
+            }
+            if (resourceListClass.compile) {
+                compileResourceListClass(generator, scannedResources, hotResources, resourceListResource, resourcePackResource, buildOutputDir);
+            } else {
+                generateResourceListClass(generator, scannedResources, hotResources, resourceListResource, resourcePackResource);
+            }
+            report.phase(ListResourcesReport.CLASS_GENERATION, start);
+        }
+
+        if (generateNativeImageConfig) {
+            long start = System.nanoTime();
+            writeNativeImageConfig(resources, hotResources, resourcePackResource, buildOutputDir);
+            report.phase(ListResourcesReport.NATIVE_IMAGE_CONFIG, start);
+        }
+
+        report.log(log);
+        if (reportFile != null) {
+            log.info(Messages.listResources.writingReportFile(reportFile));
+            report.write(reportFile);
+        }
+    }
+
+    private void checkRelease(boolean usesPackOrHotResources) throws MojoFailureException {
+        if (resourceListClass.requiresJava11() || usesPackOrHotResources) {
+            String release = resourceListClass.compile && resourceListClass.release != null
+                    ? resourceListClass.release
+                    : ResourceListClass.projectRelease(project);
+            if (ResourceListClass.isBeforeJava11(release)) {
+                throw new MojoFailureException(Messages.listResources.resourceListClassRequiresJava11(release));
+            }
+        }
+    }
+
+    private void generateResourceListClass(ResourceListClassGenerator generator, SortedMap<String, Long> resources, List<String> hotResources,
+            Resource resourceListResource, Resource resourcePackResource) throws MojoExecutionException {
+
+        Log log = getLog();
+
+        if (resourceListClass.outputDirectory == null) {
+            resourceListClass.setDefaultOutputDirectory(project);
+            log.debug(Messages.listResources.setDefaultResourceListClassOutputDirectory(resourceListClass.outputDirectory));
+        }
+        generator.generateClassFile(resourceListClass, resources.keySet(), resources, hotResources, resourceListResource, resourcePackResource);
+
+        addSourceRoot(project.getCompileSourceRoots(), project::addCompileSourceRoot, resourceListClass.outputDirectory);
+        log.debug(Messages.listResources.addedResourceListClassOutputDirectory(resourceListClass.outputDirectory));
+    }
+
+    private void compileResourceListClass(ResourceListClassGenerator generator, SortedMap<String, Long> resources, List<String> hotResources,
+            Resource resourceListResource, Resource resourcePackResource, Path buildOutputDir) throws MojoExecutionException {
 
-            addSourceRoot(project.getCompileSourceRoots(), project::addCompileSourceRoot, resourceListClass.outputDirectory);
-            log.debug(Messages.listResources.addedResourceListClassOutputDirectory(resourceListClass.outputDirectory));
+        Log log = getLog();
+
+        if (resourceListClass.release == null) {
+            resourceListClass.setDefaultRelease(project);
+            log.debug(Messages.listResources.setDefaultResourceListClassRelease(resourceListClass.release));
         }
+        log.info(Messages.listResources.compilingResourceListClass(resourceListClass.className, buildOutputDir));
+        generator.compileClassFile(resourceListClass, resources.keySet(), resources, hotResources, resourceListResource, resourcePackResource,
+                buildOutputDir);
     }
 
-    private void writeResources(Set<String> resources) throws MojoExecutionException {
+    private List<String> readHotResources(Set<String> resources) throws MojoExecutionException {
+        Log log = getLog();
+
+        if (!Files.isRegularFile(resourceProfileFile)) {
+            log.warn(Messages.listResources.resourceProfileFileNotFound(resourceProfileFile));
+            return List.of();
+        }
+        log.info(Messages.listResources.readingProfileFile(resourceProfileFile));
+        // Resources that are no longer listed are ignored, as are duplicates
+        Set<String> hotResources = new LinkedHashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(resourceProfileFile)) {
+            String resource;
+            while ((resource = reader.readLine()) != null) {
+                if (resources.contains(resource)) {
+                    hotResources.add(resource);
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        log.debug(Messages.listResources.foundHotResources(hotResources.size()));
+        return new ArrayList<>(hotResources);
+    }
+
+    void writeResources(Set<String> resources) throws MojoExecutionException {
         Path targetFile = resourceListFile;
         Path parentDirectory = targetFile.getParent();
         try {
@@ -198,15 +573,97 @@ public class ListResourcesMojo extends AbstractMojo {
         }
     }
 
-    private Resource resourceListResource(Path buildOutputDir) {
-        if (resourceListFile.startsWith(buildOutputDir)) {
-            Path relativePath = buildOutputDir.relativize(resourceListFile);
+    private void registerResourceList(Path buildOutputDir) throws MojoExecutionException {
+        Log log = getLog();
+
+        Path indexFile = buildOutputDir.resolve(RESOURCE_LIST_INDEX_FILE);
+        String resourceListPath = buildOutputDir.relativize(resourceListFile).toString().replace(File.separatorChar, '/');
+
+        log.info(Messages.listResources.registeringListFile(resourceListFile, indexFile));
+        try {
+            // Keep the resource list files that were registered by other executions, unless they no longer exist
+            Set<String> resourceListPaths = new TreeSet<>();
+            if (Files.isRegularFile(indexFile)) {
+                for (String path : Files.readAllLines(indexFile)) {
+                    if (path.isEmpty()) {
+                        continue;
+                    }
+                    if (Files.isRegularFile(buildOutputDir.resolve(path))) {
+                        resourceListPaths.add(path);
+                    } else {
+                        log.debug(Messages.listResources.removedStaleListFile(path, indexFile));
+                    }
+                }
+            }
+            resourceListPaths.add(resourceListPath);
+
+            Files.createDirectories(indexFile.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(indexFile)) {
+                for (String path : resourceListPaths) {
+                    writer.append(path).append('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+
+        project.addResource(resource(indexFile, buildOutputDir));
+        log.debug(Messages.listResources.addedIndexFileResource(indexFile));
+    }
+
+    private void writeNativeImageConfig(Set<String> resources, List<String> hotResources, Resource resourcePackResource, Path buildOutputDir)
+            throws MojoExecutionException {
+
+        Log log = getLog();
+
+        NativeImageConfigWriter writer = new NativeImageConfigWriter();
+
+        List<String> configResources = new ArrayList<>(resources.size() + 3);
+        if (resourceBaseDir.startsWith(buildOutputDir) && !resourceBaseDir.equals(buildOutputDir)) {
+            // Resources are relative to the resource base directory, but native image needs their paths inside the class path
+            String prefix = buildOutputDir.relativize(resourceBaseDir).toString().replace(File.separatorChar, '/') + '/';
+            for (String resource : resources) {
+                configResources.add(prefix + resource);
+            }
+        } else {
+            configResources.addAll(resources);
+        }
+        addResourcePath(configResources, resourceListFile, buildOutputDir);
+        if (registerResourceList) {
+            configResources.add(RESOURCE_LIST_INDEX_FILE);
+        }
+        if (resourcePackFile != null) {
+            addResourcePath(configResources, resourcePackFile, buildOutputDir);
+        }
+
+        Path resourceConfigFile = nativeImageConfigDirectory.resolve(NativeImageConfigWriter.RESOURCE_CONFIG_FILE);
+        log.info(Messages.listResources.writingNativeImageResourceConfig(resourceConfigFile));
+        writer.writeResourceConfig(resourceConfigFile, configResources);
+
+        if (resourceListClass != null && resourceListClass.initializeAtBuildTime) {
+            ResourceListClassGenerator generator = new ResourceListClassGenerator();
+            Path propertiesFile = nativeImageConfigDirectory.resolve(NativeImageConfigWriter.NATIVE_IMAGE_PROPERTIES_FILE);
+            log.info(Messages.listResources.writingNativeImageProperties(propertiesFile));
+            writer.writeNativeImageProperties(propertiesFile,
+                    generator.buildTimeInitializedClasses(resourceListClass, resources, hotResources, resourcePackResource));
+        }
+    }
+
+    private void addResourcePath(List<String> resourcePaths, Path file, Path buildOutputDir) {
+        if (file.startsWith(buildOutputDir)) {
+            resourcePaths.add(buildOutputDir.relativize(file).toString().replace(File.separatorChar, '/'));
+        }
+    }
+
+    private Resource resource(Path file, Path buildOutputDir) {
+        if (file.startsWith(buildOutputDir)) {
+            Path relativePath = buildOutputDir.relativize(file);
             Path resourcePath = relativePath.getParent();
 
             Resource result = new Resource();
-            // resourceListFile has a parent; either project.build.outputDirectory itself or a sub directory
-            result.setDirectory(resourceListFile.getParent().toString());
-            result.addInclude(resourceListFile.getFileName().toString());
+            // file has a parent; either project.build.outputDirectory itself or a sub directory
+            result.setDirectory(file.getParent().toString());
+            result.addInclude(file.getFileName().toString());
             result.setTargetPath(resourcePath == null ? "" : resourcePath.toString()); //$NON-NLS-1$
             return result;
         }
@@ -0,0 +1,152 @@
+/*
+ * ListResourcesReport.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Timings and statistics of listing resources. These can be logged as a summary, and written as a JSON report.
+ *
+ * @author Rob Spoor
+ */
+final class ListResourcesReport {
+
+    static final String WALK = "walk"; //$NON-NLS-1$
+    static final String MATCH = "match"; //$NON-NLS-1$
+    static final String SORT = "sort"; //$NON-NLS-1$
+    static final String BUDGETS = "budgets"; //$NON-NLS-1$
+    static final String WRITE = "write"; //$NON-NLS-1$
+    static final String PACK = "pack"; //$NON-NLS-1$
+    static final String CLASS_GENERATION = "classGeneration"; //$NON-NLS-1$
+    static final String NATIVE_IMAGE_CONFIG = "nativeImageConfig"; //$NON-NLS-1$
+
+    private final ScanStatistics statistics;
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+
+    private int resourceCount;
+    private long totalSize;
+
+    ListResourcesReport(ScanStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    void scanned(Map<String, Long> resources) {
+        phaseNanos.put(WALK, statistics.walkNanos);
+        phaseNanos.put(MATCH, statistics.matchNanos);
+        phaseNanos.put(SORT, statistics.sortNanos);
+
+        resourceCount = resources.size();
+        totalSize = resources.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // Records the time since the given start time, as returned by System.nanoTime(), for a phase
+    void phase(String name, long start) {
+        phaseNanos.merge(name, System.nanoTime() - start, Long::sum);
+    }
+
+    long totalNanos() {
+        return phaseNanos.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    void log(Log log) {
+        log.info(Messages.ListResourcesReport.summary(resourceCount, totalSize, millis(totalNanos()),
+                statistics.directoriesVisited, statistics.filesVisited, statistics.subtreesPruned));
+
+        if (log.isDebugEnabled()) {
+            for (Map.Entry<String, Long> phase : phaseNanos.entrySet()) {
+                log.debug(Messages.ListResourcesReport.phase(phase.getKey(), millis(phase.getValue())));
+            }
+            log.debug(Messages.ListResourcesReport.resources(statistics.resourcesIncluded, statistics.resourcesNotIncluded,
+                    statistics.resourcesExcluded));
+            for (int i = 0; i < statistics.includeHits.length; i++) {
+                log.debug(Messages.ListResourcesReport.includeHits(statistics.includes.get(i), statistics.includeHits[i]));
+            }
+            for (int i = 0; i < statistics.excludeHits.length; i++) {
+                log.debug(Messages.ListResourcesReport.excludeHits(statistics.excludes.get(i), statistics.excludeHits[i]));
+            }
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @SuppressWarnings("nls")
+    void write(Path file) throws MojoExecutionException {
+        Path parentDirectory = file.getParent();
+        try {
+            if (parentDirectory != null) {
+                Files.createDirectories(parentDirectory);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                writer.write("{\n");
+                writer.write("  \"resources\": {\n");
+                writer.write("    \"count\": " + resourceCount + ",\n");
+                writer.write("    \"totalSize\": " + totalSize + ",\n");
+                writer.write("    \"included\": " + statistics.resourcesIncluded + ",\n");
+                writer.write("    \"notIncluded\": " + statistics.resourcesNotIncluded + ",\n");
+                writer.write("    \"excluded\": " + statistics.resourcesExcluded + "\n");
+                writer.write("  },\n");
+                writer.write("  \"scan\": {\n");
+                writer.write("    \"directoriesVisited\": " + statistics.directoriesVisited + ",\n");
+                writer.write("    \"filesVisited\": " + statistics.filesVisited + ",\n");
+                writer.write("    \"subtreesPruned\": " + statistics.subtreesPruned + "\n");
+                writer.write("  },\n");
+                writer.write("  \"phaseNanos\": {\n");
+                Iterator<Map.Entry<String, Long>> iterator = phaseNanos.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, Long> phase = iterator.next();
+                    writer.write("    \"" + phase.getKey() + "\": " + phase.getValue() + (iterator.hasNext() ? ",\n" : "\n"));
+                }
+                writer.write("  },\n");
+                writer.write("  \"totalNanos\": " + totalNanos() + ",\n");
+                writer.write("  \"includes\": ");
+                writePatternHits(writer, statistics.includes, statistics.includeHits);
+                writer.write(",\n");
+                writer.write("  \"excludes\": ");
+                writePatternHits(writer, statistics.excludes, statistics.excludeHits);
+                writer.write("\n");
+                writer.write("}\n");
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("nls")
+    private void writePatternHits(BufferedWriter writer, List<String> patterns, long[] hits) throws IOException {
+        writer.write("[");
+        for (int i = 0; i < hits.length; i++) {
+            writer.write("\n    {\n");
+            writer.write("      \"pattern\": \"" + NativeImageConfigWriter.escapeJson(patterns.get(i)) + "\",\n");
+            writer.write("      \"hits\": " + hits[i] + "\n");
+            writer.write(i < hits.length - 1 ? "    }," : "    }\n  ");
+        }
+        writer.write("]");
+    }
+}
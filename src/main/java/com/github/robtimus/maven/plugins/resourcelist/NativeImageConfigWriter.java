@@ -0,0 +1,119 @@
+/*
+ * NativeImageConfigWriter.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Writes configuration files for GraalVM's native-image.
+ *
+ * @author Rob Spoor
+ */
+final class NativeImageConfigWriter {
+
+    static final String RESOURCE_CONFIG_FILE = "resource-config.json"; //$NON-NLS-1$
+    static final String NATIVE_IMAGE_PROPERTIES_FILE = "native-image.properties"; //$NON-NLS-1$
+
+    @SuppressWarnings("nls")
+    void writeResourceConfig(Path file, Collection<String> resources) throws MojoExecutionException {
+        write(file, writer -> {
+            writer.write("{\n");
+            writer.write("  \"resources\": {\n");
+            writer.write("    \"includes\": [");
+            Iterator<String> iterator = resources.iterator();
+            while (iterator.hasNext()) {
+                String pattern = Pattern.quote(iterator.next());
+                writer.write("\n      {\n");
+                writer.write("        \"pattern\": \"");
+                writer.write(escapeJson(pattern));
+                writer.write("\"\n");
+                writer.write(iterator.hasNext() ? "      }," : "      }\n    ");
+            }
+            writer.write("]\n");
+            writer.write("  }\n");
+            writer.write("}\n");
+        });
+    }
+
+    @SuppressWarnings("nls")
+    void writeNativeImageProperties(Path file, Collection<String> buildTimeInitializedClasses) throws MojoExecutionException {
+        write(file, writer -> {
+            writer.write("Args = --initialize-at-build-time=");
+            writer.write(String.join(",", buildTimeInitializedClasses));
+            writer.write("\n");
+        });
+    }
+
+    private void write(Path file, ContentWriter contentWriter) throws MojoExecutionException {
+        Path parentDirectory = file.getParent();
+        try {
+            if (parentDirectory != null) {
+                Files.createDirectories(parentDirectory);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                contentWriter.write(writer);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+
+    static String escapeJson(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    result.append("\\\""); //$NON-NLS-1$
+                    break;
+                case '\\':
+                    result.append("\\\\"); //$NON-NLS-1$
+                    break;
+                case '\n':
+                    result.append("\\n"); //$NON-NLS-1$
+                    break;
+                case '\r':
+                    result.append("\\r"); //$NON-NLS-1$
+                    break;
+                case '\t':
+                    result.append("\\t"); //$NON-NLS-1$
+                    break;
+                default:
+                    if (c < 0x20) {
+                        result.append(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+                    } else {
+                        result.append(c);
+                    }
+                    break;
+            }
+        }
+        return result.toString();
+    }
+
+    private interface ContentWriter {
+
+        void write(BufferedWriter writer) throws IOException;
+    }
+}
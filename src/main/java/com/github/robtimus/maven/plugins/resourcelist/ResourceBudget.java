@@ -0,0 +1,65 @@
+/*
+ * ResourceBudget.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.util.Arrays;
+
+/**
+ * A class describing limits for the listed resources.
+ *
+ * @author Rob Spoor
+ */
+public class ResourceBudget {
+
+    /**
+     * The patterns that define which listed resources the budget applies to. If not set, the budget applies to all listed resources.
+     */
+    String[] includes;
+
+    /**
+     * The maximum number of resources, or {@code null} for no maximum.
+     */
+    Integer maxCount;
+
+    /**
+     * The maximum combined size of all resources in bytes, or {@code null} for no maximum.
+     */
+    Long maxTotalSize;
+
+    /**
+     * The maximum size of any single resource in bytes, or {@code null} for no maximum.
+     */
+    Long maxSize;
+
+    boolean appliesTo(String resource) {
+        return includes == null || includes.length == 0 || ResourcesScanner.matches(resource, Arrays.asList(includes));
+    }
+
+    String description() {
+        return includes == null || includes.length == 0
+                ? Messages.ResourceBudget.allResources()
+                : String.join(", ", includes); //$NON-NLS-1$
+    }
+
+    @Override
+    @SuppressWarnings("nls")
+    public String toString() {
+        return String.format("includes: %s, maxCount: %s, maxTotalSize: %s, maxSize: %s",
+                Arrays.toString(includes), maxCount, maxTotalSize, maxSize);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * ResourceBudgetChecker.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Checks listed resources against resource budgets.
+ * Only the resource sizes gathered while scanning are used, so no additional I/O is needed.
+ *
+ * @author Rob Spoor
+ */
+final class ResourceBudgetChecker {
+
+    private static final Comparator<Map.Entry<String, Long>> BY_SIZE = Map.Entry.<String, Long>comparingByValue()
+            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+
+    private final int reportSize;
+    private final boolean failOnExceeded;
+    private final Log log;
+
+    ResourceBudgetChecker(int reportSize, boolean failOnExceeded, Log log) {
+        this.reportSize = reportSize;
+        this.failOnExceeded = failOnExceeded;
+        this.log = log;
+    }
+
+    void check(ResourceBudget[] budgets, Map<String, Long> resources) throws MojoFailureException {
+        boolean exceeded = false;
+        for (ResourceBudget budget : budgets) {
+            exceeded |= check(budget, resources);
+        }
+        if (exceeded && failOnExceeded) {
+            throw new MojoFailureException(Messages.ResourceBudgetChecker.budgetsExceeded());
+        }
+    }
+
+    boolean check(ResourceBudget budget, Map<String, Long> resources) {
+        log.debug(Messages.ResourceBudgetChecker.checkingBudget(budget));
+
+        int count = 0;
+        long totalSize = 0;
+        int oversizedCount = 0;
+        // The largest resources overall, and the largest resources that exceed the maximum size
+        PriorityQueue<Map.Entry<String, Long>> largest = new PriorityQueue<>(BY_SIZE);
+        PriorityQueue<Map.Entry<String, Long>> oversized = new PriorityQueue<>(BY_SIZE);
+
+        for (Map.Entry<String, Long> resource : resources.entrySet()) {
+            if (budget.appliesTo(resource.getKey())) {
+                count++;
+                totalSize += resource.getValue();
+                addLargest(resource, largest);
+                if (budget.maxSize != null && resource.getValue() > budget.maxSize) {
+                    oversizedCount++;
+                    addLargest(resource, oversized);
+                }
+            }
+        }
+
+        Consumer<CharSequence> logger = failOnExceeded ? log::error : log::warn;
+        String description = budget.description();
+        boolean exceeded = false;
+
+        if (budget.maxCount != null && count > budget.maxCount) {
+            logger.accept(Messages.ResourceBudgetChecker.countExceeded(description, count, budget.maxCount));
+            exceeded = true;
+        }
+        if (budget.maxTotalSize != null && totalSize > budget.maxTotalSize) {
+            logger.accept(Messages.ResourceBudgetChecker.totalSizeExceeded(description, totalSize, budget.maxTotalSize));
+            exceeded = true;
+        }
+        if (exceeded) {
+            reportLargest(largest, logger);
+        }
+        if (oversizedCount > 0) {
+            logger.accept(Messages.ResourceBudgetChecker.sizeExceeded(description, oversizedCount, budget.maxSize));
+            reportLargest(oversized, logger);
+            exceeded = true;
+        }
+        return exceeded;
+    }
+
+    private void addLargest(Map.Entry<String, Long> resource, PriorityQueue<Map.Entry<String, Long>> largest) {
+        // The queue's head is the smallest of the largest resources so far
+        largest.add(resource);
+        if (largest.size() > reportSize) {
+            largest.poll();
+        }
+    }
+
+    private void reportLargest(PriorityQueue<Map.Entry<String, Long>> largest, Consumer<CharSequence> logger) {
+        List<Map.Entry<String, Long>> resources = new ArrayList<>(largest);
+        resources.sort(BY_SIZE.reversed());
+        for (Map.Entry<String, Long> resource : resources) {
+            logger.accept(Messages.ResourceBudgetChecker.offendingResource(resource.getKey(), resource.getValue()));
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.github.robtimus.maven.plugins.resourcelist;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Properties;
 import org.apache.maven.project.MavenProject;
 
 /**
@@ -28,6 +29,9 @@ import org.apache.maven.project.MavenProject;
  */
 public class ResourceListClass {
 
+    static final long DEFAULT_MAX_EMBEDDED_SIZE = 256 * 1024;
+    static final long DEFAULT_CONTENT_CACHE_SIZE = 16 * 1024 * 1024;
+
     /**
      * The fully qualified class name.
      */
@@ -43,13 +47,166 @@ public class ResourceListClass {
      */
     Path outputDirectory;
 
+    /**
+     * {@code true} if the resource pack should be memory mapped if it's located in a directory, or {@code false} if it should always be read
+     * into memory.
+     */
+    boolean memoryMapResourcePack = false;
+
+    /**
+     * {@code true} if the class should read the resource list only once and keep it in memory, or {@code false} if it should read the resource
+     * list each time it's needed.
+     */
+    boolean cacheResources = false;
+
+    /**
+     * {@code true} if the class should keep its resources in memory in a compact form that is decoded when needed, or {@code false} if it should
+     * keep each resource in memory as a separate string.
+     */
+    boolean compactResources = false;
+
+    /**
+     * {@code true} if the class should index its resources to provide fast lookups, or {@code false} otherwise.
+     */
+    boolean indexResources = false;
+
+    /**
+     * {@code true} if the class should be suitable for being initialized at build time by GraalVM's native-image, or {@code false} otherwise.
+     */
+    boolean initializeAtBuildTime = false;
+
+    /**
+     * {@code true} if the resources should be embedded in the class as constants, or {@code false} if they should be read from the resource
+     * list file.
+     */
+    boolean embedResources = false;
+
+    /**
+     * The maximum size in bytes of the resource list for it to be embedded. Larger resource lists are read from the resource list file.
+     * Only used if {@link #embedResources} is {@code true}.
+     */
+    long maxEmbeddedSize = DEFAULT_MAX_EMBEDDED_SIZE;
+
+    /**
+     * {@code true} if the class should cache the content of resources, or {@code false} if it should not provide access to the content of
+     * resources. Ignored if a resource pack is used, as its content is already kept in memory.
+     * Implied by {@link #preloadResources}.
+     */
+    boolean cacheContent = false;
+
+    /**
+     * The default maximum total size in bytes of the cached content of resources. Only used if {@link #cacheContent} is {@code true}.
+     */
+    long contentCacheSize = DEFAULT_CONTENT_CACHE_SIZE;
+
+    /**
+     * {@code true} if the class should be able to extract resources to a directory, or {@code false} otherwise.
+     */
+    boolean extractResources = false;
+
+    /**
+     * {@code true} if the class should be able to load the content of multiple resources concurrently, or {@code false} otherwise.
+     */
+    boolean bulkLoadResources = false;
+
+    /**
+     * {@code true} if the class should read resources directly from the directory or JAR file that contains it, or {@code false} to use the
+     * class loader.
+     */
+    boolean directResourceAccess = false;
+
+    /**
+     * {@code true} if the class should provide a read-only file system with the resources, or {@code false} otherwise.
+     */
+    boolean fileSystem = false;
+
+    /**
+     * {@code true} if the class should be able to load the content of resources in the background, or {@code false} otherwise.
+     */
+    boolean preloadResources = false;
+
+    /**
+     * {@code true} if the class should keep metrics of and notify listeners about access to resources, or {@code false} otherwise.
+     * Implied by {@link #registerMBean}.
+     */
+    boolean instrumentResources = false;
+
+    /**
+     * {@code true} if the class should register its metrics as a JMX MBean, or {@code false} otherwise.
+     */
+    boolean registerMBean = false;
+
+    /**
+     * {@code true} if the class should be a facade over the resource list runtime library, or {@code false} if it should be self-contained.
+     */
+    boolean useRuntimeLibrary = false;
+
+    /**
+     * {@code true} if the class should be compiled directly into the project build's output directory, or {@code false} if its source should be
+     * written to the output directory.
+     */
+    boolean compile = false;
+
+    /**
+     * The Java release to compile the class for. Only used if {@link #compile} is {@code true}.
+     */
+    String release;
+
     void setDefaultOutputDirectory(MavenProject project) {
         outputDirectory = Paths.get(project.getBuild().getOutputDirectory()).resolve("generated-sources/resource-lists"); //$NON-NLS-1$
     }
 
+    void setDefaultRelease(MavenProject project) {
+        release = projectRelease(project);
+    }
+
+    @SuppressWarnings("nls")
+    static String projectRelease(MavenProject project) {
+        Properties properties = project.getProperties();
+        if (properties == null) {
+            return null;
+        }
+        String projectRelease = properties.getProperty("maven.compiler.release");
+        if (projectRelease == null) {
+            String target = properties.getProperty("maven.compiler.target");
+            // Older Java versions are specified as 1.x, but --release only supports the x
+            projectRelease = target != null && target.startsWith("1.") ? target.substring(2) : target;
+        }
+        return projectRelease;
+    }
+
+    boolean requiresJava11() {
+        // The default class and instrumentation only use Java 8 APIs; the runtime library needs Java 11 itself
+        return cacheResources || compactResources || indexResources || initializeAtBuildTime || embedResources || cacheContent
+                || extractResources || bulkLoadResources || fileSystem || preloadResources || useRuntimeLibrary;
+    }
+
+    @SuppressWarnings("nls")
+    static boolean isBeforeJava11(String release) {
+        if (release == null) {
+            // The release of the JDK that runs Maven, which is at least the release that this plugin needs
+            return false;
+        }
+        String version = release.startsWith("1.") ? release.substring(2) : release;
+        try {
+            return Integer.parseInt(version) < 11;
+        } catch (NumberFormatException e) {
+            // Let the compiler report invalid releases
+            return false;
+        }
+    }
+
     @Override
     @SuppressWarnings("nls")
     public String toString() {
-        return String.format("className: %s, publicVisibility: %b, outputDirectory: %s", className, publicVisibility, outputDirectory);
+        return String.format("className: %s, publicVisibility: %b, outputDirectory: %s, memoryMapResourcePack: %b, cacheResources: %b"
+                + ", compactResources: %b, indexResources: %b, initializeAtBuildTime: %b, embedResources: %b, maxEmbeddedSize: %d"
+                + ", cacheContent: %b, contentCacheSize: %d, extractResources: %b, bulkLoadResources: %b"
+                + ", directResourceAccess: %b, fileSystem: %b, preloadResources: %b, instrumentResources: %b, registerMBean: %b"
+                + ", useRuntimeLibrary: %b, compile: %b, release: %s",
+                className, publicVisibility, outputDirectory, memoryMapResourcePack, cacheResources, compactResources, indexResources,
+                initializeAtBuildTime, embedResources, maxEmbeddedSize, cacheContent, contentCacheSize, extractResources, bulkLoadResources,
+                directResourceAccess, fileSystem, preloadResources, instrumentResources, registerMBean, useRuntimeLibrary, compile,
+                release);
     }
 }
@@ -17,38 +17,48 @@
 
 package com.github.robtimus.maven.plugins.resourcelist;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.MojoExecutionException;
 
 final class ResourceListClassGenerator {
 
-    @SuppressWarnings("nls")
-    void generateClassFile(ResourceListClass resourceListClass, Resource resourceListResource) throws MojoExecutionException {
+    // The class file format allows 65535 bytes, but javac rejects string constants of that length
+    private static final int MAX_CHUNK_LENGTH = 65534;
+    private static final String CHUNK_INDENT = "                "; //$NON-NLS-1$
+    private static final String RUNTIME_LIBRARY_PACKAGE = "com.github.robtimus.resourcelist"; //$NON-NLS-1$
+
+    void generateClassFile(ResourceListClass resourceListClass, Collection<String> resources, Resource resourceListResource,
+            Resource resourcePackResource) throws MojoExecutionException {
+
+        generateClassFile(resourceListClass, resources, Map.of(), List.of(), resourceListResource, resourcePackResource);
+    }
+
+    void generateClassFile(ResourceListClass resourceListClass, Collection<String> resources, Map<String, Long> resourceSizes,
+            Collection<String> hotResources, Resource resourceListResource, Resource resourcePackResource) throws MojoExecutionException {
+
         int index = resourceListClass.className.lastIndexOf('.');
         String packageName = resourceListClass.className.substring(0, index);
         String className = resourceListClass.className.substring(index + 1);
-        String resourceListFile = resourceListFile(resourceListResource);
-        String visibility = resourceListClass.publicVisibility ? "public " : "";
 
         try {
-            String template = readTemplate();
-            String content = template
-                    .replace("${package}", packageName)
-                    .replace("${className}", className)
-                    .replace("${resourceListFile}", resourceListFile)
-                    .replace("${visibility}", visibility);
+            String content = render(resourceListClass, resources, resourceSizes, hotResources, resourceListResource, resourcePackResource);
 
             Path packageDir = resourceListClass.outputDirectory.resolve(packageName.replace('.', '/'));
             Files.createDirectories(packageDir);
 
-            Path classFile = packageDir.resolve(className + ".java");
+            Path classFile = packageDir.resolve(className + ".java"); //$NON-NLS-1$
             try (Writer writer = Files.newBufferedWriter(classFile)) {
                 writer.write(content);
             }
@@ -57,15 +67,277 @@ final class ResourceListClassGenerator {
         }
     }
 
-    private String readTemplate() throws IOException {
-        try (InputStream inputStream = getClass().getResourceAsStream("ResourceListClass.java.template")) { //$NON-NLS-1$
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            inputStream.transferTo(outputStream);
-            return outputStream.toString(StandardCharsets.UTF_8);
+    void compileClassFile(ResourceListClass resourceListClass, Collection<String> resources, Resource resourceListResource,
+            Resource resourcePackResource, Path classOutputDirectory) throws MojoExecutionException {
+
+        compileClassFile(resourceListClass, resources, Map.of(), List.of(), resourceListResource, resourcePackResource, classOutputDirectory);
+    }
+
+    void compileClassFile(ResourceListClass resourceListClass, Collection<String> resources, Map<String, Long> resourceSizes,
+            Collection<String> hotResources, Resource resourceListResource, Resource resourcePackResource, Path classOutputDirectory)
+            throws MojoExecutionException {
+
+        try {
+            String content = render(resourceListClass, resources, resourceSizes, hotResources, resourceListResource, resourcePackResource);
+
+            SourceCompiler compiler = new SourceCompiler();
+            compiler.compile(resourceListClass.className, content, resourceListClass.release, classOutputDirectory);
+        } catch (IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("nls")
+    private String render(ResourceListClass resourceListClass, Collection<String> resources, Map<String, Long> resourceSizes,
+            Collection<String> hotResources, Resource resourceListResource, Resource resourcePackResource) throws IOException {
+
+        int index = resourceListClass.className.lastIndexOf('.');
+        String packageName = resourceListClass.className.substring(0, index);
+        String className = resourceListClass.className.substring(index + 1);
+        String resourceListFile = resourcePath(resourceListResource);
+        String visibility = resourceListClass.publicVisibility ? "public " : "";
+
+        Map<String, String> variables = new HashMap<>();
+        variables.put("package", packageName);
+        variables.put("className", className);
+        variables.put("resourceListFile", resourceListFile);
+        variables.put("visibility", visibility);
+
+        if (resourceListClass.useRuntimeLibrary) {
+            return renderFacade(resourceListClass, resources, variables);
+        }
+
+        Set<String> flags = flags(resourceListClass, resources, hotResources, resourcePackResource);
+        if (flags.contains("embedded")) {
+            variables.put("embeddedResources", embeddedResources(resources));
+        }
+        if (flags.contains("resourcePack")) {
+            variables.put("resourcePackFile", resourcePath(resourcePackResource));
+        }
+        if (flags.contains("contentCache")) {
+            variables.put("contentCacheSize", Long.toString(resourceListClass.contentCacheSize));
+        }
+        if (flags.contains("hotSet")) {
+            variables.put("hotResources", embeddedResources(hotResources));
+        }
+        if (flags.contains("fileSystem") && !flags.contains("resourcePack")) {
+            // A resource pack already contains the sizes
+            variables.put("resourceSizes", embeddedResources(resourceSizes(resources, resourceSizes)));
+        }
+
+        Template template = Template.load("ResourceListClass.java.template");
+        return template.render(variables, flags);
+    }
+
+    @SuppressWarnings("nls")
+    private Set<String> flags(ResourceListClass resourceListClass, Collection<String> resources, Collection<String> hotResources,
+            Resource resourcePackResource) {
+
+        Set<String> flags = new HashSet<>();
+        if (resourceListClass.cacheResources || resourceListClass.initializeAtBuildTime || resourceListClass.embedResources
+                || resourceListClass.indexResources || resourceListClass.compactResources || resourceListClass.fileSystem) {
+            // If the resources are too large to embed, they are still read only once
+            flags.add("inMemory");
+        }
+        if (resourceListClass.compactResources) {
+            flags.add("compact");
+        }
+        if (resourceListClass.indexResources) {
+            flags.add("indexed");
+            flags.add("resourceLookup");
+        }
+        if (embedsResources(resourceListClass, resources)) {
+            flags.add("embedded");
+        }
+        if (resourcePackResource != null) {
+            flags.add("resourcePack");
+            flags.add("resourceLookup");
+            if (resourceListClass.memoryMapResourcePack) {
+                flags.add("memoryMapResourcePack");
+            }
+        } else if (resourceListClass.cacheContent || resourceListClass.preloadResources) {
+            // A resource pack already provides the content of resources from memory; otherwise preloaded content is kept in the cache
+            flags.add("contentCache");
+            flags.add("resourceLookup");
+            if (resourceListClass.preloadResources) {
+                flags.add("pinnedContent");
+            }
+        }
+
+        if (resourceListClass.extractResources) {
+            flags.add("extraction");
+        }
+        if (resourceListClass.bulkLoadResources) {
+            flags.add("bulkLoading");
+        }
+        if (resourceListClass.fileSystem) {
+            flags.add("fileSystem");
+        }
+        if (resourceListClass.preloadResources) {
+            flags.add("preloading");
+        }
+        if (!hotResources.isEmpty()) {
+            flags.add("hotSet");
+        }
+        if (resourceListClass.instrumentResources || resourceListClass.registerMBean) {
+            flags.add("instrumented");
+            if (!resourceListClass.initializeAtBuildTime) {
+                // With build time initialization the resource list is loaded while building the native image
+                flags.add("reportListLoads");
+            }
+            if (resourceListClass.registerMBean) {
+                flags.add("mbean");
+            }
+        }
+        if (resourceListClass.directResourceAccess && resourcePackResource == null
+                && (resourceListClass.indexResources || resourceListClass.cacheContent || resourceListClass.extractResources
+                        || resourceListClass.bulkLoadResources || resourceListClass.fileSystem || resourceListClass.preloadResources)) {
+            // Only needed if resources are opened by the class itself; a resource pack is already looked up only once
+            flags.add("directAccess");
+        }
+        return flags;
+    }
+
+    @SuppressWarnings("nls")
+    private String renderFacade(ResourceListClass resourceListClass, Collection<String> resources, Map<String, String> variables)
+            throws IOException {
+
+        // All other options only apply to self-contained classes
+        Set<String> flags = new HashSet<>();
+        if (embedsResources(resourceListClass, resources)) {
+            flags.add("embedded");
+            variables.put("embeddedResources", embeddedResources(resources));
+        }
+
+        Template template = Template.load("ResourceListFacade.java.template");
+        return template.render(variables, flags);
+    }
+
+    boolean embedsResources(ResourceListClass resourceListClass, Collection<String> resources) {
+        if (!resourceListClass.embedResources) {
+            return false;
+        }
+        long size = 0;
+        for (String resource : resources) {
+            // Each resource is followed by a line separator
+            size += resource.getBytes(StandardCharsets.UTF_8).length + 1L;
+            if (size > resourceListClass.maxEmbeddedSize) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String embeddedResources(Collection<String> resources) {
+        // String constants are limited to 65535 bytes in modified UTF-8, so split the resources into several constants
+        List<StringBuilder> chunks = new ArrayList<>();
+        StringBuilder chunk = new StringBuilder();
+        int chunkLength = 0;
+        for (String resource : resources) {
+            String entry = resource + '\n';
+            for (int i = 0; i < entry.length(); i++) {
+                char c = entry.charAt(i);
+                int length = modifiedUtf8Length(c);
+                // Don't split surrogate pairs
+                if (chunkLength + length > MAX_CHUNK_LENGTH && !Character.isLowSurrogate(c)) {
+                    chunks.add(chunk);
+                    chunk = new StringBuilder();
+                    chunkLength = 0;
+                }
+                appendEscaped(chunk, c);
+                chunkLength += length;
+            }
+        }
+        if (chunkLength > 0) {
+            chunks.add(chunk);
+        }
+
+        StringBuilder result = new StringBuilder();
+        for (StringBuilder constant : chunks) {
+            result.append(CHUNK_INDENT).append('"').append(constant).append("\",\n"); //$NON-NLS-1$
+        }
+        return result.toString();
+    }
+
+    private List<String> resourceSizes(Collection<String> resources, Map<String, Long> resourceSizes) {
+        List<String> sizes = new ArrayList<>(resources.size());
+        for (String resource : resources) {
+            Long size = resourceSizes.get(resource);
+            if (size == null) {
+                throw new IllegalArgumentException("Missing size for resource " + resource); //$NON-NLS-1$
+            }
+            sizes.add(size.toString());
+        }
+        return sizes;
+    }
+
+    private static int modifiedUtf8Length(char c) {
+        if (c != 0 && c < 0x80) {
+            return 1;
+        }
+        return c < 0x800 ? 2 : 3;
+    }
+
+    private static void appendEscaped(StringBuilder sb, char c) {
+        switch (c) {
+            case '"':
+                sb.append("\\\""); //$NON-NLS-1$
+                break;
+            case '\\':
+                sb.append("\\\\"); //$NON-NLS-1$
+                break;
+            case '\n':
+                sb.append("\\n"); //$NON-NLS-1$
+                break;
+            case '\r':
+                sb.append("\\r"); //$NON-NLS-1$
+                break;
+            case '\t':
+                sb.append("\\t"); //$NON-NLS-1$
+                break;
+            default:
+                // Escape anything outside printable ASCII, so the generated source does not depend on the compiler's encoding
+                if (c < 0x20 || c > 0x7E) {
+                    sb.append(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+                } else {
+                    sb.append(c);
+                }
+                break;
+        }
+    }
+
+    @SuppressWarnings("nls")
+    List<String> buildTimeInitializedClasses(ResourceListClass resourceListClass, Collection<String> resources, Collection<String> hotResources,
+            Resource resourcePackResource) {
+
+        String className = resourceListClass.className;
+        // The generated class, the nested classes that hold its resources, and the classes of the objects they hold, because these objects
+        // become part of the image heap; nested classes that access resources or other state of the environment at run time must not be listed
+        List<String> classNames = new ArrayList<>();
+        classNames.add(className);
+        if (resourceListClass.useRuntimeLibrary) {
+            classNames.add(className + "$RelativeResources");
+            // The runtime library's classes hold the resources; they have no state other than what's stored in the objects themselves
+            classNames.add(RUNTIME_LIBRARY_PACKAGE);
+            return classNames;
+        }
+        Set<String> flags = flags(resourceListClass, resources, hotResources, resourcePackResource);
+        if (flags.contains("inMemory")) {
+            classNames.add(className + "$RelativeResources");
+            classNames.add(className + "$AbsoluteResources");
+            classNames.add(className + "$Resources");
+            classNames.add(className + "$ResourceTree");
+        }
+        if (flags.contains("indexed")) {
+            classNames.add(className + "$ResourceIndex");
+        }
+        if (flags.contains("hotSet")) {
+            classNames.add(className + "$HotResources");
         }
+        return classNames;
     }
 
-    private String resourceListFile(Resource resource) {
+    private String resourcePath(Resource resource) {
         String fileName = resource.getIncludes().get(0);
         String dirName = resource.getTargetPath();
         return dirName.isEmpty() ? fileName : String.format("%s/%s", dirName, fileName); //$NON-NLS-1$
@@ -0,0 +1,213 @@
+/*
+ * ResourcePackWriter.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Writes resource packs. A resource pack is a single file that contains the content of several resources.
+ * <p>
+ * The format of a resource pack is as follows; all numbers are written in big-endian order:
+ * <ol>
+ *   <li>The magic number {@code 0x524C504B} ({@code RLPK}) as a 4-byte integer.</li>
+ *   <li>The format version as a 4-byte integer.</li>
+ *   <li>The number of resources as a 4-byte integer.</li>
+ *   <li>For each resource, in sorted order:
+ *     <ol>
+ *       <li>The length of the UTF-8 encoded resource name as a 4-byte integer.</li>
+ *       <li>The UTF-8 encoded resource name.</li>
+ *       <li>The offset of the resource's content as a 4-byte integer, relative to the start of the content section.</li>
+ *       <li>The length of the resource's content as a 4-byte integer.</li>
+ *     </ol>
+ *   </li>
+ *   <li>The content section.</li>
+ * </ol>
+ * Resources with identical content share the same content in the content section. The content section starts with the content of hot
+ * resources, if any, in the order in which they were first accessed, followed by the content of the other resources in sorted order.
+ *
+ * @author Rob Spoor
+ */
+final class ResourcePackWriter {
+
+    static final int MAGIC = 0x524C504B;
+    static final int VERSION = 1;
+
+    static final int BUFFER_SIZE = 8192;
+
+    private final Log log;
+
+    ResourcePackWriter(Log log) {
+        this.log = log;
+    }
+
+    void write(Path baseDir, Collection<String> resources, Path packFile) throws MojoExecutionException {
+        write(baseDir, resources, List.of(), packFile);
+    }
+
+    void write(Path baseDir, Collection<String> resources, Collection<String> hotResources, Path packFile) throws MojoExecutionException {
+        Path parentDirectory = packFile.getParent();
+        // The header precedes the content section but depends on it, so the content section is first written to a separate file
+        Path contentFile = packFile.resolveSibling(packFile.getFileName() + ".content"); //$NON-NLS-1$
+        try {
+            if (parentDirectory != null) {
+                Files.createDirectories(parentDirectory);
+            }
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+
+                Map<ByteBuffer, PackedContent> contentByDigest = new HashMap<>();
+                Map<String, PackedContent> entries = new HashMap<>();
+                int contentCount = 0;
+                long contentSize = 0;
+
+                try (SeekableByteChannel contentChannel = Files.newByteChannel(contentFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    for (String resource : contentOrder(resources, hotResources)) {
+                        // Each file is read only once; its content is digested while it's copied, and overwritten if it's a duplicate
+                        contentChannel.position(contentSize);
+                        long size = copy(baseDir.resolve(resource), contentChannel, digest, buffer);
+                        ByteBuffer key = ByteBuffer.wrap(digest.digest());
+
+                        PackedContent content = contentByDigest.get(key);
+                        if (content == null) {
+                            if (contentSize + size > Integer.MAX_VALUE) {
+                                throw new MojoExecutionException(Messages.ResourcePackWriter.packTooLarge(packFile));
+                            }
+                            content = new PackedContent((int) contentSize, (int) size);
+                            contentByDigest.put(key, content);
+                            contentCount++;
+                            contentSize += size;
+                        }
+                        entries.put(resource, content);
+                    }
+                }
+
+                writePack(resources, entries, contentFile, contentSize, packFile);
+
+                log.debug(Messages.ResourcePackWriter.packedResources(resources.size(), contentCount, contentSize));
+            } finally {
+                Files.deleteIfExists(contentFile);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Collection<String> contentOrder(Collection<String> resources, Collection<String> hotResources) {
+        if (hotResources.isEmpty()) {
+            return resources;
+        }
+        // Hot resources come first, so their content is contiguous at the start of the content section
+        Set<String> listedResources = new HashSet<>(resources);
+        Set<String> result = new LinkedHashSet<>();
+        for (String resource : hotResources) {
+            if (listedResources.contains(resource)) {
+                result.add(resource);
+            }
+        }
+        result.addAll(resources);
+        return result;
+    }
+
+    private long copy(Path file, SeekableByteChannel output, MessageDigest digest, byte[] buffer) throws IOException {
+        digest.reset();
+        long size = 0;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int len;
+            while ((len = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, len);
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, len);
+                while (byteBuffer.hasRemaining()) {
+                    output.write(byteBuffer);
+                }
+                size += len;
+            }
+        }
+        return size;
+    }
+
+    private void writePack(Collection<String> resources, Map<String, PackedContent> entries, Path contentFile, long contentSize, Path packFile)
+            throws IOException {
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(packFile)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(resources.size());
+
+            for (String resource : resources) {
+                byte[] name = resource.getBytes(StandardCharsets.UTF_8);
+                PackedContent content = entries.get(resource);
+
+                output.writeInt(name.length);
+                output.write(name);
+                output.writeInt(content.offset);
+                output.writeInt(content.length);
+            }
+
+            // The content file can be larger than the content section, if its last content was a duplicate
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (InputStream inputStream = Files.newInputStream(contentFile)) {
+                long remaining = contentSize;
+                while (remaining > 0) {
+                    int len = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (len == -1) {
+                        throw new EOFException();
+                    }
+                    output.write(buffer, 0, len);
+                    remaining -= len;
+                }
+            }
+        }
+    }
+
+    private static final class PackedContent {
+
+        private final int offset;
+        private final int length;
+
+        private PackedContent(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
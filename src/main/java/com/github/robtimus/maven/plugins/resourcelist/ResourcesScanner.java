@@ -19,16 +19,21 @@ package com.github.robtimus.maven.plugins.resourcelist;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.SortedMap;
+import java.util.StringTokenizer;
+import java.util.TreeMap;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.codehaus.plexus.util.SelectorUtils;
@@ -46,9 +51,15 @@ final class ResourcesScanner {
     private final List<String> includes;
     private final List<String> excludes;
     private final Set<Path> excludedFiles;
+    private final boolean logResources;
     private final Log log;
+    private ScanStatistics statistics;
 
     ResourcesScanner(String[] includes, String[] excludes, boolean addDefaultExcludes, Log log) {
+        this(includes, excludes, addDefaultExcludes, false, log);
+    }
+
+    ResourcesScanner(String[] includes, String[] excludes, boolean addDefaultExcludes, boolean logResources, Log log) {
         this.includes = new ArrayList<>();
         if (includes != null) {
             Collections.addAll(this.includes, includes);
@@ -63,47 +74,141 @@ final class ResourcesScanner {
         }
 
         this.excludedFiles = new HashSet<>();
+        // Logging each resource is expensive for large projects, even if debug logging is disabled
+        this.logResources = logResources && log.isDebugEnabled();
         this.log = log;
+        this.statistics = new ScanStatistics(this.includes, this.excludes);
     }
 
     void excludeFile(Path file) {
         excludedFiles.add(file);
     }
 
-    Set<String> scan(Path baseDir) throws MojoExecutionException {
+    // Returns the statistics of the last scan
+    ScanStatistics statistics() {
+        return statistics;
+    }
+
+    SortedMap<String, Long> scan(Path baseDir) throws MojoExecutionException {
         log.debug(Messages.ResourcesScanner.scanningResources(baseDir));
         log.debug(Messages.ResourcesScanner.includes(includes));
         log.debug(Messages.ResourcesScanner.excludes(excludes));
 
-        try (Stream<Path> stream = Files.walk(baseDir)) {
-            return stream
-                    .filter(path -> !excludedFiles.contains(path))
-                    .filter(Files::isRegularFile)
-                    .map(file -> baseDir.relativize(file).toString().replace(File.separatorChar, '/'))
-                    // don't consider class files to be resources
-                    .filter(resource -> !resource.endsWith(".class")) //$NON-NLS-1$
-                    .filter(resource -> isIncluded(resource, log))
-                    .collect(Collectors.toCollection(TreeSet::new));
+        statistics = new ScanStatistics(includes, excludes);
+
+        long start = System.nanoTime();
+        Map<String, Long> resources = new HashMap<>();
+        try {
+            Files.walkFileTree(baseDir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                    if (!dir.equals(baseDir) && canSkipDirectory(relativePath(baseDir, dir))) {
+                        log.debug(Messages.ResourcesScanner.subtreePruned(dir));
+                        statistics.subtreesPruned++;
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    statistics.directoriesVisited++;
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                    statistics.filesVisited++;
+                    if (!excludedFiles.contains(file)) {
+                        // Symbolic links are not followed while walking, but links to regular files are still resources
+                        BasicFileAttributes fileAttributes = attributes.isSymbolicLink()
+                                ? readAttributes(file)
+                                : attributes;
+                        if (fileAttributes != null && fileAttributes.isRegularFile()) {
+                            addResource(relativePath(baseDir, file), fileAttributes.size(), resources);
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
         } catch (IOException e) {
             throw new MojoExecutionException(e.getMessage(), e);
         }
+
+        long sortStart = System.nanoTime();
+        SortedMap<String, Long> sortedResources = new TreeMap<>(resources);
+        long end = System.nanoTime();
+
+        statistics.sortNanos = end - sortStart;
+        statistics.walkNanos = sortStart - start - statistics.matchNanos;
+        return sortedResources;
+    }
+
+    private static String relativePath(Path baseDir, Path path) {
+        return baseDir.relativize(path).toString().replace(File.separatorChar, '/');
+    }
+
+    // A directory can be skipped if none of its files can be included, or if all of its files are excluded
+    boolean canSkipDirectory(String relativeDirectory) {
+        if (!includes.isEmpty() && includes.stream().noneMatch(pattern -> canMatchInDirectory(pattern, relativeDirectory))) {
+            return true;
+        }
+        return excludes.stream().anyMatch(pattern -> matchesAllInDirectory(pattern, relativeDirectory));
+    }
+
+    private BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // broken link
+            return null;
+        }
+    }
+
+    private void addResource(String resource, long size, Map<String, Long> resources) {
+        // don't consider class files to be resources
+        if (!resource.endsWith(".class")) { //$NON-NLS-1$
+            long start = System.nanoTime();
+            boolean included = isIncluded(resource, log);
+            statistics.matchNanos += System.nanoTime() - start;
+            if (included) {
+                resources.put(resource, size);
+            }
+        }
     }
 
     boolean isIncluded(String relativePath, Log log) {
-        boolean included = includes.isEmpty() || matches(relativePath, includes);
-        if (!included) {
-            log.debug(Messages.ResourcesScanner.resourceNotIncluded(relativePath));
-            return false;
+        if (!includes.isEmpty()) {
+            int include = indexOfMatch(relativePath, includes);
+            if (include == -1) {
+                statistics.resourcesNotIncluded++;
+                if (logResources) {
+                    log.debug(Messages.ResourcesScanner.resourceNotIncluded(relativePath));
+                }
+                return false;
+            }
+            statistics.includeHits[include]++;
         }
-        boolean excluded = matches(relativePath, excludes);
-        if (excluded) {
-            log.debug(Messages.ResourcesScanner.resourceExcluded(relativePath));
+        int exclude = indexOfMatch(relativePath, excludes);
+        if (exclude != -1) {
+            statistics.excludeHits[exclude]++;
+            statistics.resourcesExcluded++;
+            if (logResources) {
+                log.debug(Messages.ResourcesScanner.resourceExcluded(relativePath));
+            }
             return false;
         }
-        log.debug(Messages.ResourcesScanner.resourceIncluded(relativePath));
+        statistics.resourcesIncluded++;
+        if (logResources) {
+            log.debug(Messages.ResourcesScanner.resourceIncluded(relativePath));
+        }
         return true;
     }
 
+    private static int indexOfMatch(String relativePath, List<String> patterns) {
+        for (int i = 0, size = patterns.size(); i < size; i++) {
+            if (matches(relativePath, patterns.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     static boolean matches(String relativePath, List<String> patterns) {
         return patterns.stream().anyMatch(pattern -> matches(relativePath, pattern));
     }
@@ -111,4 +216,43 @@ final class ResourcesScanner {
     static boolean matches(String relativePath, String pattern) {
         return SelectorUtils.matchPath(pattern, relativePath, "/", true); //$NON-NLS-1$
     }
+
+    // Returns false only if no file in the directory or any of its sub directories can match the pattern
+    @SuppressWarnings("nls")
+    static boolean canMatchInDirectory(String pattern, String relativeDirectory) {
+        if (pattern.startsWith("%")) {
+            // %regex[...] and %ant[...] patterns are not analyzed
+            return true;
+        }
+        String[] patternSegments = segments(pattern);
+        String[] directorySegments = segments(relativeDirectory);
+        for (int i = 0; i < directorySegments.length; i++) {
+            if (i < patternSegments.length && "**".equals(patternSegments[i])) {
+                return true;
+            }
+            // The last segment of the pattern matches file names, and files in the directory are at least one level deeper
+            if (i >= patternSegments.length - 1 || !SelectorUtils.match(patternSegments[i], directorySegments[i], true)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns true only if all files in the directory and its sub directories match the pattern
+    @SuppressWarnings("nls")
+    static boolean matchesAllInDirectory(String pattern, String relativeDirectory) {
+        return !pattern.startsWith("%")
+                && pattern.endsWith("/**")
+                && matches(relativeDirectory, pattern.substring(0, pattern.length() - 3));
+    }
+
+    private static String[] segments(String path) {
+        // Like SelectorUtils.matchPath, ignore empty segments
+        StringTokenizer tokenizer = new StringTokenizer(path, "/"); //$NON-NLS-1$
+        String[] segments = new String[tokenizer.countTokens()];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = tokenizer.nextToken();
+        }
+        return segments;
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * ScanStatistics.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.util.List;
+
+/**
+ * Statistics gathered while scanning resources.
+ *
+ * @author Rob Spoor
+ */
+final class ScanStatistics {
+
+    final List<String> includes;
+    final List<String> excludes;
+
+    long directoriesVisited;
+    long filesVisited;
+    long subtreesPruned;
+
+    long resourcesIncluded;
+    long resourcesNotIncluded;
+    long resourcesExcluded;
+
+    // For each pattern, the number of files for which it was the first matching pattern
+    final long[] includeHits;
+    final long[] excludeHits;
+
+    long walkNanos;
+    long matchNanos;
+    long sortNanos;
+
+    ScanStatistics(List<String> includes, List<String> excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+        this.includeHits = new long[includes.size()];
+        this.excludeHits = new long[excludes.size()];
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * SourceCompiler.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Compiles a single source file in memory, without the need to write the source file to disk.
+ *
+ * @author Rob Spoor
+ */
+final class SourceCompiler {
+
+    private final JavaCompiler compiler;
+
+    SourceCompiler() {
+        this(ToolProvider.getSystemJavaCompiler());
+    }
+
+    SourceCompiler(JavaCompiler compiler) {
+        this.compiler = compiler;
+    }
+
+    @SuppressWarnings("nls")
+    void compile(String className, String source, String release, Path classOutputDirectory) throws MojoExecutionException, IOException {
+        if (compiler == null) {
+            throw new MojoExecutionException(Messages.SourceCompiler.compilerNotAvailable());
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8);
+        // Generated code only depends on the JDK, so don't inherit the class path of the Maven process
+        standardFileManager.setLocation(StandardLocation.CLASS_PATH, List.of());
+
+        try (InMemoryFileManager fileManager = new InMemoryFileManager(standardFileManager)) {
+            List<String> options = new ArrayList<>();
+            options.add("-proc:none");
+            if (release != null) {
+                options.add("--release");
+                options.add(release);
+            }
+
+            List<JavaFileObject> compilationUnits = List.of(new SourceFile(className, source));
+
+            boolean compiled;
+            try {
+                compiled = compiler.getTask(null, fileManager, diagnostics, options, null, compilationUnits).call();
+            } catch (IllegalArgumentException e) {
+                throw new MojoExecutionException(e.getMessage(), e);
+            }
+            if (!compiled) {
+                String errors = diagnostics.getDiagnostics().stream()
+                        .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                        .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                        .collect(Collectors.joining(System.lineSeparator()));
+                throw new MojoExecutionException(Messages.SourceCompiler.compilationFailed(className, errors));
+            }
+
+            for (Map.Entry<String, ByteArrayOutputStream> entry : fileManager.classFiles.entrySet()) {
+                Path classFile = classOutputDirectory.resolve(entry.getKey().replace('.', '/') + ".class");
+                Path parentDirectory = classFile.getParent();
+                if (parentDirectory != null) {
+                    Files.createDirectories(parentDirectory);
+                }
+                Files.write(classFile, entry.getValue().toByteArray());
+            }
+        }
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String source;
+
+        private SourceFile(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE); //$NON-NLS-1$
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private static final class ClassFile extends SimpleJavaFileObject {
+
+        private final ByteArrayOutputStream content;
+
+        private ClassFile(String className, ByteArrayOutputStream content) {
+            super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS); //$NON-NLS-1$
+            this.content = content;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return content;
+        }
+    }
+
+    private static final class InMemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+
+        // Sorted to write class files in a predictable order
+        private final Map<String, ByteArrayOutputStream> classFiles = new TreeMap<>();
+
+        private InMemoryFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling)
+                throws IOException {
+
+            if (location == StandardLocation.CLASS_OUTPUT && kind == JavaFileObject.Kind.CLASS) {
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                classFiles.put(className, content);
+                return new ClassFile(className, content);
+            }
+            return super.getJavaFileForOutput(location, className, kind, sibling);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Template.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A simple text template.
+ * <p>
+ * Templates support two constructs:
+ * <ul>
+ *   <li>Variables of the form <code>${name}</code>. These are replaced in a single pass, so variable values are never processed themselves.
+ *       Unknown variables are left as-is.</li>
+ *   <li>Conditional blocks. These start with a line containing only {@code #if condition}, optionally followed by a line
+ *       containing only {@code #else}, and end with a line containing only {@code #end}. Conditional blocks can be nested.
+ *       A condition is either {@code flag} or {@code !flag}, or several of these separated by {@code ||}; the condition is met if any of these
+ *       is met. The directive lines themselves are never part of the rendered result.</li>
+ * </ul>
+ *
+ * @author Rob Spoor
+ */
+final class Template {
+
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{(\\w+)\\}"); //$NON-NLS-1$
+
+    private static final String IF = "#if "; //$NON-NLS-1$
+    private static final String ELSE = "#else"; //$NON-NLS-1$
+    private static final String END = "#end"; //$NON-NLS-1$
+
+    private static final Pattern OR_PATTERN = Pattern.compile("\\s*\\|\\|\\s*"); //$NON-NLS-1$
+
+    private final String name;
+    private final String content;
+
+    Template(String name, String content) {
+        this.name = name;
+        this.content = content;
+    }
+
+    static Template load(String resourceName) throws IOException {
+        try (InputStream inputStream = Template.class.getResourceAsStream(resourceName)) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            inputStream.transferTo(outputStream);
+            return new Template(resourceName, outputStream.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    String render(Map<String, String> variables, Set<String> flags) {
+        String withoutDirectives = processDirectives(flags);
+        return replaceVariables(withoutDirectives, variables);
+    }
+
+    private String processDirectives(Set<String> flags) {
+        StringBuilder result = new StringBuilder(content.length());
+        // Each element indicates whether or not the current branch of a conditional block is included
+        Deque<Boolean> conditions = new ArrayDeque<>();
+        boolean included = true;
+
+        int start = 0;
+        while (start < content.length()) {
+            int end = content.indexOf('\n', start);
+            end = end == -1 ? content.length() : end + 1;
+
+            String line = content.substring(start, end);
+            String directive = line.trim();
+            if (directive.startsWith(IF)) {
+                conditions.push(included);
+                included = included && evaluate(directive.substring(IF.length()).trim(), flags);
+            } else if (ELSE.equals(directive)) {
+                if (conditions.isEmpty()) {
+                    throw new IllegalStateException(Messages.Template.unexpectedDirective(name, ELSE));
+                }
+                included = conditions.peek() && !included;
+            } else if (END.equals(directive)) {
+                if (conditions.isEmpty()) {
+                    throw new IllegalStateException(Messages.Template.unexpectedDirective(name, END));
+                }
+                included = conditions.pop();
+            } else if (included) {
+                result.append(line);
+            }
+
+            start = end;
+        }
+        if (!conditions.isEmpty()) {
+            throw new IllegalStateException(Messages.Template.missingEnd(name));
+        }
+        return result.toString();
+    }
+
+    private static boolean evaluate(String condition, Set<String> flags) {
+        for (String term : OR_PATTERN.split(condition)) {
+            boolean met = term.startsWith("!") //$NON-NLS-1$
+                    ? !flags.contains(term.substring(1))
+                    : flags.contains(term);
+            if (met) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String replaceVariables(String text, Map<String, String> variables) {
+        Matcher matcher = VARIABLE_PATTERN.matcher(text);
+        StringBuilder result = new StringBuilder(text.length());
+        while (matcher.find()) {
+            String value = variables.get(matcher.group(1));
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value != null ? value : matcher.group()));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * LargeResourceTreeTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.filesystems.memory.MemoryFileSystemProvider;
+
+// These tests use file system call counts and allocated bytes instead of timings, so they don't depend on the speed of the machine
+@SuppressWarnings("nls")
+class LargeResourceTreeTest {
+
+    private static final int PACKAGES_PER_MODULE = 10;
+
+    @BeforeEach
+    void clearMemoryFileSystem() {
+        MemoryFileSystemProvider.clear();
+    }
+
+    @Nested
+    class Scan {
+
+        @Test
+        void testFileSystemCallsPerEntry() throws MojoExecutionException, IOException {
+            Path root = Paths.get(URI.create("memory:/large"));
+            int fileCount = createTree(root, 200, 10);
+            createMavenMetadata(root, 500);
+
+            CountingFileSystemProvider provider = new CountingFileSystemProvider(root.getFileSystem());
+            ResourcesScanner scanner = new ResourcesScanner(null, null, true, mock(Log.class));
+
+            Map<String, Long> resources = scanner.scan(provider.wrap(root));
+
+            assertEquals(fileCount, resources.size());
+
+            ScanStatistics statistics = scanner.statistics();
+            long entries = statistics.directoriesVisited + statistics.filesVisited + statistics.subtreesPruned;
+
+            // Each entry needs its attributes read once, and each directory that is not skipped needs to be listed once
+            assertTrue(provider.calls(CountingFileSystemProvider.READ_ATTRIBUTES) <= entries, provider.callsPerOperation().toString());
+            assertTrue(provider.calls(CountingFileSystemProvider.NEW_DIRECTORY_STREAM) <= statistics.directoriesVisited + statistics.subtreesPruned,
+                    provider.callsPerOperation().toString());
+            // Scanning never reads the content of files
+            assertEquals(provider.calls(CountingFileSystemProvider.READ_ATTRIBUTES) + provider.calls(CountingFileSystemProvider.NEW_DIRECTORY_STREAM),
+                    provider.calls(), provider.callsPerOperation().toString());
+        }
+
+        @Test
+        void testExcludedSubtreesAreNeverVisited() throws MojoExecutionException, IOException {
+            Path root = Paths.get(URI.create("memory:/large"));
+            createTree(root, 20, 10);
+            createMavenMetadata(root, 5_000);
+
+            CountingFileSystemProvider provider = new CountingFileSystemProvider(root.getFileSystem());
+            ResourcesScanner scanner = new ResourcesScanner(null, null, true, mock(Log.class));
+
+            scanner.scan(provider.wrap(root));
+
+            ScanStatistics statistics = scanner.statistics();
+            assertEquals(1, statistics.subtreesPruned);
+            assertEquals(0, statistics.resourcesExcluded);
+
+            Path mavenMetadata = root.resolve("META-INF/maven");
+            assertEquals(Set.of(), accessedPathsInside(provider, mavenMetadata));
+        }
+
+        @Test
+        void testNotIncludedSubtreesAreNeverVisited() throws MojoExecutionException, IOException {
+            Path root = Paths.get(URI.create("memory:/large"));
+            createTree(root, 100, 10);
+            createMavenMetadata(root, 500);
+
+            CountingFileSystemProvider provider = new CountingFileSystemProvider(root.getFileSystem());
+            ResourcesScanner scanner = new ResourcesScanner(new String[] { "module1/**" }, null, true, mock(Log.class));
+
+            Map<String, Long> resources = scanner.scan(provider.wrap(root));
+
+            assertEquals(PACKAGES_PER_MODULE * 10, resources.size());
+
+            ScanStatistics statistics = scanner.statistics();
+            // All other modules, and META-INF
+            assertEquals(100, statistics.subtreesPruned);
+            assertEquals(0, statistics.resourcesNotIncluded);
+
+            for (int i = 0; i < 100; i++) {
+                if (i != 1) {
+                    assertEquals(Set.of(), accessedPathsInside(provider, root.resolve("module" + i)));
+                }
+            }
+            assertEquals(Set.of(), accessedPathsInside(provider, root.resolve("META-INF")));
+        }
+
+        @Test
+        void testAllocationsGrowLinearly() throws MojoExecutionException, IOException {
+            com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+
+            Path warmUp = Paths.get(URI.create("memory:/warm-up"));
+            Path small = Paths.get(URI.create("memory:/small"));
+            Path large = Paths.get(URI.create("memory:/large"));
+            createTree(warmUp, 50, 10);
+            createTree(small, 50, 10);
+            createTree(large, 200, 10);
+
+            ResourcesScanner scanner = new ResourcesScanner(new String[] { "**/*.properties" }, null, true, mock(Log.class));
+            scanner.scan(warmUp);
+
+            long threadId = Thread.currentThread().getId();
+
+            long start = threadMXBean.getThreadAllocatedBytes(threadId);
+            scanner.scan(small);
+            long smallAllocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+            start = threadMXBean.getThreadAllocatedBytes(threadId);
+            scanner.scan(large);
+            long largeAllocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+            // The large tree is 4 times as large as the small tree; allow some headroom for collection growth
+            assertTrue(largeAllocated <= 6 * smallAllocated, "small tree: " + smallAllocated + ", large tree: " + largeAllocated);
+        }
+    }
+
+    @Nested
+    class Execute {
+
+        @Test
+        void testFileSystemCallsPerEntry() throws MojoExecutionException, MojoFailureException, IOException {
+            Path root = Paths.get(URI.create("memory:/large"));
+            int fileCount = createTree(root, 200, 10);
+            createMavenMetadata(root, 500);
+
+            CountingFileSystemProvider provider = new CountingFileSystemProvider(root.getFileSystem());
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = mock(MavenProject.class);
+            mojo.addDefaultExcludes = true;
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+            mojo.resourceBaseDir = provider.wrap(root);
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            mojo.execute(buildOutputDir);
+
+            String resourceList = MemoryFileSystemProvider.getContentAsString(mojo.resourceListFile);
+            assertEquals(fileCount, resourceList.split("\n").length);
+
+            // 200 modules with 10 packages each, META-INF and META-INF/maven, and the root itself
+            int directories = 200 * (PACKAGES_PER_MODULE + 1) + 3;
+            // Each file needs its attributes read once, and each directory needs its attributes read and needs to be listed once
+            assertTrue(provider.calls() <= fileCount + 2 * directories, provider.callsPerOperation().toString());
+            assertEquals(0, provider.calls(CountingFileSystemProvider.NEW_INPUT_STREAM));
+        }
+
+        @Test
+        void testResourcePackStreamsContent() throws MojoExecutionException, MojoFailureException, IOException {
+            Path root = Paths.get(URI.create("memory:/large"));
+            int fileSize = 64 * 1024;
+            long contentSize = 0;
+            for (int i = 0; i < 100; i++) {
+                byte[] content = new byte[fileSize];
+                Arrays.fill(content, (byte) i);
+                Path file = root.resolve("data/file" + i + ".bin");
+                Files.createDirectories(file.getParent());
+                Files.write(file, content);
+                contentSize += content.length;
+            }
+
+            CountingFileSystemProvider provider = new CountingFileSystemProvider(root.getFileSystem());
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = mock(MavenProject.class);
+            mojo.addDefaultExcludes = true;
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+            mojo.resourceBaseDir = provider.wrap(root);
+            mojo.resourcePackFile = Paths.get(URI.create("memory:/project/target/classes/resources.pack"));
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            mojo.execute(buildOutputDir);
+
+            assertTrue(Files.size(mojo.resourcePackFile) > contentSize);
+
+            // Resources are streamed one by one into the pack file, and are digested while they are copied so they are read only once
+            assertEquals(1, provider.maxOpenInputStreams());
+            assertEquals(100, provider.calls(CountingFileSystemProvider.NEW_INPUT_STREAM), provider.callsPerOperation().toString());
+            assertEquals(contentSize, provider.bytesRead());
+        }
+    }
+
+    // Creates modules with PACKAGES_PER_MODULE packages each, with filesPerPackage files in each package, and returns the number of files
+    private static int createTree(Path root, int modules, int filesPerPackage) throws IOException {
+        for (int i = 0; i < modules; i++) {
+            for (int j = 0; j < PACKAGES_PER_MODULE; j++) {
+                Path directory = root.resolve("module" + i + "/package" + j);
+                Files.createDirectories(directory);
+                for (int k = 0; k < filesPerPackage; k++) {
+                    Files.write(directory.resolve("resource" + k + ".properties"), ("key=" + k).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return modules * PACKAGES_PER_MODULE * filesPerPackage;
+    }
+
+    // Creates files inside META-INF/maven, which is excluded by default
+    private static void createMavenMetadata(Path root, int fileCount) throws IOException {
+        Path directory = root.resolve("META-INF/maven/com.github.robtimus");
+        for (int i = 0; i < fileCount; i++) {
+            Path file = directory.resolve("artifact" + i / 10 + "/file" + i % 10 + ".xml");
+            Files.createDirectories(file.getParent());
+            Files.write(file, new byte[0]);
+        }
+    }
+
+    private static Set<Path> accessedPathsInside(CountingFileSystemProvider provider, Path directory) {
+        return provider.accessedPaths().stream()
+                .filter(p -> p.startsWith(directory) && !p.equals(directory))
+                .collect(Collectors.toSet());
+    }
+}
@@ -17,14 +17,17 @@
 
 package com.github.robtimus.maven.plugins.resourcelist;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.io.File;
@@ -34,7 +37,10 @@ import java.nio.file.AccessDeniedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -69,6 +75,30 @@ class ListResourcesMojoTest {
         assertEquals(Paths.get("target/classes").toAbsolutePath(), mojo.resourceBaseDir);
     }
 
+    @Test
+    void testSetResourcePackFile() {
+        ListResourcesMojo mojo = new ListResourcesMojo();
+        mojo.setResourcePackFile(new File("src/main/java/../../../target/classes/test.pack"));
+
+        assertEquals(Paths.get("target/classes/test.pack").toAbsolutePath(), mojo.resourcePackFile);
+    }
+
+    @Test
+    void testSetResourceProfileFile() {
+        ListResourcesMojo mojo = new ListResourcesMojo();
+        mojo.setResourceProfileFile(new File("src/main/java/../../../target/profile.txt"));
+
+        assertEquals(Paths.get("target/profile.txt").toAbsolutePath(), mojo.resourceProfileFile);
+    }
+
+    @Test
+    void testSetReportFile() {
+        ListResourcesMojo mojo = new ListResourcesMojo();
+        mojo.setReportFile(new File("src/main/java/../../../target/resource-list-report.json"));
+
+        assertEquals(Paths.get("target/resource-list-report.json").toAbsolutePath(), mojo.reportFile);
+    }
+
     @Nested
     class Execute {
 
@@ -175,6 +205,150 @@ class ListResourcesMojoTest {
             verify(mojo.project, never()).addResource(any());
         }
 
+        @Test
+        void testRegisterResourceList() throws MojoExecutionException, MojoFailureException, IOException {
+            MavenProject project = mock(MavenProject.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.properties" };
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/META-INF/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/resources");
+            mojo.registerResourceList = true;
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            // Resource list files registered by other executions remain registered
+            Path indexFile = buildOutputDir.resolve("META-INF/resource-list.index");
+            Files.createDirectories(indexFile.getParent());
+            Files.write(indexFile, List.of("META-INF/other.resources", "META-INF/resources"));
+            Files.write(buildOutputDir.resolve("META-INF/other.resources"), List.of("other.txt"));
+
+            mojo.execute(buildOutputDir);
+
+            String index = MemoryFileSystemProvider.getContentAsString(indexFile);
+            assertEquals("META-INF/other.resources\nMETA-INF/resources\n", index);
+
+            ArgumentCaptor<Resource> resourceCaptor = ArgumentCaptor.forClass(Resource.class);
+            verify(mojo.project, times(2)).addResource(resourceCaptor.capture());
+
+            Resource resource = resourceCaptor.getAllValues().get(1);
+            assertEquals("/project/target/classes/META-INF", resource.getDirectory());
+            assertEquals(List.of("resource-list.index"), resource.getIncludes());
+            assertEquals("META-INF", resource.getTargetPath());
+        }
+
+        @Test
+        void testRegisterResourceListRemovesMissingListFiles() throws MojoExecutionException, MojoFailureException, IOException {
+            MavenProject project = mock(MavenProject.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.properties" };
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/META-INF/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/resources");
+            mojo.registerResourceList = true;
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            // META-INF/removed.resources was registered by an execution that has since been removed, and its file no longer exists
+            Path indexFile = buildOutputDir.resolve("META-INF/resource-list.index");
+            Files.createDirectories(indexFile.getParent());
+            Files.write(indexFile, List.of("META-INF/other.resources", "META-INF/removed.resources"));
+            Files.write(buildOutputDir.resolve("META-INF/other.resources"), List.of("other.txt"));
+
+            mojo.execute(buildOutputDir);
+
+            String index = MemoryFileSystemProvider.getContentAsString(indexFile);
+            assertEquals("META-INF/other.resources\nMETA-INF/resources\n", index);
+        }
+
+        @Test
+        void testRegisterResourceListForNonResource() {
+            MavenProject project = mock(MavenProject.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.properties" };
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/subdir/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/resources");
+            mojo.registerResourceList = true;
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            MojoFailureException exception = assertThrows(MojoFailureException.class, () -> mojo.execute(buildOutputDir));
+            assertEquals(Messages.listResources.registerResourceListForNonResource(), exception.getMessage());
+
+            assertFalse(Files.exists(buildOutputDir.resolve("META-INF/resource-list.index")));
+        }
+
+        @Test
+        void testReportFile() throws MojoExecutionException, MojoFailureException, IOException {
+            MavenProject project = mock(MavenProject.class);
+            Log log = mock(Log.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.properties" };
+            mojo.setLog(log);
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/resources");
+            mojo.reportFile = Paths.get(URI.create("memory:/project/target/resource-list-report.json"));
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            mojo.execute(buildOutputDir);
+
+            verify(log).info(Messages.listResources.writingReportFile(mojo.reportFile));
+
+            String report = MemoryFileSystemProvider.getContentAsString(mojo.reportFile);
+            assertTrue(report.contains("\"count\": 1,\n"));
+            assertTrue(report.contains("\"pattern\": \"**/*.properties\",\n      \"hits\": 1\n"));
+            for (String phase : List.of("walk", "match", "sort", "write")) {
+                assertTrue(report.contains("\"" + phase + "\": "), phase);
+            }
+            assertFalse(report.contains("\"pack\": "));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "1, true",
+                "0, false",
+        })
+        void testBudgets(int maxCount, boolean withinBudget) throws MojoExecutionException, MojoFailureException {
+            MavenProject project = mock(MavenProject.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.properties" };
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/resources");
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            ResourceBudget budget = new ResourceBudget();
+            budget.maxCount = maxCount;
+
+            mojo.budgets = new ResourceBudget[] { budget };
+            mojo.budgetReportSize = 10;
+            mojo.failOnBudgetExceeded = true;
+
+            if (withinBudget) {
+                mojo.execute(buildOutputDir);
+
+                assertTrue(Files.exists(mojo.resourceListFile));
+            } else {
+                MojoFailureException exception = assertThrows(MojoFailureException.class, () -> mojo.execute(buildOutputDir));
+                assertEquals(Messages.ResourceBudgetChecker.budgetsExceeded(), exception.getMessage());
+
+                assertFalse(Files.exists(mojo.resourceListFile));
+            }
+        }
+
         @Test
         void testResourceListWriteError() throws IOException {
             MavenProject project = mock(MavenProject.class);
@@ -201,6 +375,263 @@ class ListResourcesMojoTest {
             verify(mojo.project, never()).addResource(any());
         }
 
+        @Test
+        void testResourcePackFileIsResource() throws MojoExecutionException, MojoFailureException, IOException {
+            MavenProject project = mock(MavenProject.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.properties" };
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/resources");
+            mojo.resourcePackFile = Paths.get(URI.create("memory:/project/target/classes/subdir/resources.pack"));
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            mojo.execute(buildOutputDir);
+
+            String resourceList = MemoryFileSystemProvider.getContentAsString(mojo.resourceListFile);
+            assertEquals("com/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties\n", resourceList);
+
+            assertTrue(Files.exists(mojo.resourcePackFile));
+
+            ArgumentCaptor<Resource> resourceCaptor = ArgumentCaptor.forClass(Resource.class);
+            verify(mojo.project, times(2)).addResource(resourceCaptor.capture());
+
+            List<Resource> resources = resourceCaptor.getAllValues();
+
+            Resource resource = resources.get(0);
+            assertEquals("/project/target/classes", resource.getDirectory());
+            assertEquals(List.of("resources"), resource.getIncludes());
+            assertEquals(List.of(), resource.getExcludes());
+            assertEquals("", resource.getTargetPath());
+
+            resource = resources.get(1);
+            assertEquals("/project/target/classes/subdir", resource.getDirectory());
+            assertEquals(List.of("resources.pack"), resource.getIncludes());
+            assertEquals(List.of(), resource.getExcludes());
+            assertEquals("subdir", resource.getTargetPath());
+        }
+
+        @Test
+        void testResourcePackFileIsNoResource() throws MojoExecutionException, MojoFailureException, IOException {
+            MavenProject project = mock(MavenProject.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.properties" };
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/subdir/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/resources");
+            mojo.resourcePackFile = Paths.get(URI.create("memory:/project/target/subdir/resources.pack"));
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            mojo.execute(buildOutputDir);
+
+            assertTrue(Files.exists(mojo.resourcePackFile));
+
+            verify(mojo.project, never()).addResource(any());
+        }
+
+        @Test
+        void testResourceProfile() throws MojoExecutionException, MojoFailureException, IOException {
+            MavenProject project = mock(MavenProject.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.java" };
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/java");
+            mojo.resourcePackFile = Paths.get(URI.create("memory:/project/target/classes/resources.pack"));
+            mojo.resourceProfileFile = Paths.get(URI.create("memory:/project/profile.txt"));
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            String packageName = "com/github/robtimus/maven/plugins/resourcelist/";
+            Files.createDirectories(mojo.resourceProfileFile.getParent());
+            // Resources that are not listed and duplicates are ignored
+            Files.write(mojo.resourceProfileFile, List.of(
+                    packageName + "Template.java",
+                    packageName + "Missing.java",
+                    packageName + "ResourceBudget.java",
+                    packageName + "Template.java"));
+
+            mojo.execute(buildOutputDir);
+
+            byte[] template = Files.readAllBytes(Paths.get("src/main/java").resolve(packageName + "Template.java"));
+            byte[] resourceBudget = Files.readAllBytes(Paths.get("src/main/java").resolve(packageName + "ResourceBudget.java"));
+            byte[] pack = MemoryFileSystemProvider.getContent(mojo.resourcePackFile);
+
+            // The resource list is still sorted
+            List<String> resourceList = Files.readAllLines(mojo.resourceListFile);
+            assertEquals(resourceList.stream().sorted().collect(Collectors.toList()), resourceList);
+
+            // The content of the hot resources is at the start of the content section, which is at the end of the pack
+            long contentSize = 0;
+            for (String resource : resourceList) {
+                contentSize += Files.size(Paths.get("src/main/java").resolve(resource));
+            }
+            int contentStart = (int) (pack.length - contentSize);
+            assertArrayEquals(template, Arrays.copyOfRange(pack, contentStart, contentStart + template.length));
+            assertArrayEquals(resourceBudget, Arrays.copyOfRange(pack, contentStart + template.length,
+                    contentStart + template.length + resourceBudget.length));
+        }
+
+        @Test
+        void testResourceProfileNotFound() throws MojoExecutionException, MojoFailureException, IOException {
+            MavenProject project = mock(MavenProject.class);
+            Log log = mock(Log.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.properties" };
+            mojo.setLog(log);
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/resources");
+            mojo.resourceProfileFile = Paths.get(URI.create("memory:/project/profile.txt"));
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            mojo.execute(buildOutputDir);
+
+            verify(log).warn(Messages.listResources.resourceProfileFileNotFound(mojo.resourceProfileFile));
+
+            String resourceList = MemoryFileSystemProvider.getContentAsString(mojo.resourceListFile);
+            assertEquals("com/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties\n", resourceList);
+        }
+
+        @Test
+        void testGenerateNativeImageConfig() throws MojoExecutionException, MojoFailureException, IOException {
+            MavenProject project = mock(MavenProject.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.properties" };
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/META-INF/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/resources");
+            mojo.resourcePackFile = Paths.get(URI.create("memory:/project/target/classes/META-INF/resources.pack"));
+            mojo.generateNativeImageConfig = true;
+            mojo.nativeImageConfigDirectory = Paths.get(URI.create("memory:/project/target/classes/META-INF/native-image/group/artifact"));
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            mojo.resourceListClass = new ResourceListClass();
+            mojo.resourceListClass.className = "com.github.robtimus.maven.plugins.resourcelist.ResourceList";
+            mojo.resourceListClass.outputDirectory = Paths.get(URI.create("memory:/generated"));
+            mojo.resourceListClass.initializeAtBuildTime = true;
+
+            mojo.execute(buildOutputDir);
+
+            String resourceConfig = MemoryFileSystemProvider.getContentAsString(mojo.nativeImageConfigDirectory.resolve("resource-config.json"));
+            String expectedResourceConfig = "{\n"
+                    + "  \"resources\": {\n"
+                    + "    \"includes\": [\n"
+                    + "      {\n"
+                    + "        \"pattern\": \"\\\\Qcom/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties\\\\E\"\n"
+                    + "      },\n"
+                    + "      {\n"
+                    + "        \"pattern\": \"\\\\QMETA-INF/resources\\\\E\"\n"
+                    + "      },\n"
+                    + "      {\n"
+                    + "        \"pattern\": \"\\\\QMETA-INF/resources.pack\\\\E\"\n"
+                    + "      }\n"
+                    + "    ]\n"
+                    + "  }\n"
+                    + "}\n";
+            assertEquals(expectedResourceConfig, resourceConfig);
+
+            String nativeImageProperties = MemoryFileSystemProvider.getContentAsString(
+                    mojo.nativeImageConfigDirectory.resolve("native-image.properties"));
+            String expectedNativeImageProperties = "Args = --initialize-at-build-time="
+                    + "com.github.robtimus.maven.plugins.resourcelist.ResourceList,"
+                    + "com.github.robtimus.maven.plugins.resourcelist.ResourceList$RelativeResources,"
+                    + "com.github.robtimus.maven.plugins.resourcelist.ResourceList$AbsoluteResources,"
+                    + "com.github.robtimus.maven.plugins.resourcelist.ResourceList$Resources,"
+                    + "com.github.robtimus.maven.plugins.resourcelist.ResourceList$ResourceTree\n";
+            assertEquals(expectedNativeImageProperties, nativeImageProperties);
+        }
+
+        @Test
+        void testGenerateNativeImageConfigWithResourceBaseDirInsideBuildOutputDir()
+                throws MojoExecutionException, MojoFailureException, IOException {
+
+            MavenProject project = mock(MavenProject.class);
+
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+            Path resourceBaseDir = buildOutputDir.resolve("static");
+            Files.createDirectories(resourceBaseDir.resolve("css"));
+            Files.writeString(resourceBaseDir.resolve("index.html"), "");
+            Files.writeString(resourceBaseDir.resolve("css/style.css"), "");
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = buildOutputDir.resolve("META-INF/resources");
+            mojo.resourceBaseDir = resourceBaseDir;
+            mojo.generateNativeImageConfig = true;
+            mojo.nativeImageConfigDirectory = buildOutputDir.resolve("META-INF/native-image/group/artifact");
+
+            mojo.execute(buildOutputDir);
+
+            String resourceList = MemoryFileSystemProvider.getContentAsString(mojo.resourceListFile);
+            assertEquals("css/style.css\nindex.html\n", resourceList);
+
+            String resourceConfig = MemoryFileSystemProvider.getContentAsString(mojo.nativeImageConfigDirectory.resolve("resource-config.json"));
+            String expectedResourceConfig = "{\n"
+                    + "  \"resources\": {\n"
+                    + "    \"includes\": [\n"
+                    + "      {\n"
+                    + "        \"pattern\": \"\\\\Qstatic/css/style.css\\\\E\"\n"
+                    + "      },\n"
+                    + "      {\n"
+                    + "        \"pattern\": \"\\\\Qstatic/index.html\\\\E\"\n"
+                    + "      },\n"
+                    + "      {\n"
+                    + "        \"pattern\": \"\\\\QMETA-INF/resources\\\\E\"\n"
+                    + "      }\n"
+                    + "    ]\n"
+                    + "  }\n"
+                    + "}\n";
+            assertEquals(expectedResourceConfig, resourceConfig);
+        }
+
+        @Test
+        void testGenerateNativeImageConfigWithoutBuildTimeInitialization() throws MojoExecutionException, MojoFailureException, IOException {
+            MavenProject project = mock(MavenProject.class);
+
+            ListResourcesMojo mojo = new ListResourcesMojo();
+            mojo.project = project;
+            mojo.includes = new String[] { "**/*.properties" };
+            mojo.setLog(mock(Log.class));
+
+            mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/subdir/resources"));
+            mojo.resourceBaseDir = Paths.get("src/main/resources");
+            mojo.generateNativeImageConfig = true;
+            mojo.nativeImageConfigDirectory = Paths.get(URI.create("memory:/project/target/classes/META-INF/native-image/group/artifact"));
+            Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+            mojo.execute(buildOutputDir);
+
+            String resourceConfig = MemoryFileSystemProvider.getContentAsString(mojo.nativeImageConfigDirectory.resolve("resource-config.json"));
+            String expectedResourceConfig = "{\n"
+                    + "  \"resources\": {\n"
+                    + "    \"includes\": [\n"
+                    + "      {\n"
+                    + "        \"pattern\": \"\\\\Qcom/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties\\\\E\"\n"
+                    + "      }\n"
+                    + "    ]\n"
+                    + "  }\n"
+                    + "}\n";
+            assertEquals(expectedResourceConfig, resourceConfig);
+
+            assertFalse(Files.exists(mojo.nativeImageConfigDirectory.resolve("native-image.properties")));
+        }
+
         @Nested
         class WithResourceListClass {
 
@@ -292,6 +723,166 @@ class ListResourcesMojoTest {
                 }
             }
 
+            @Test
+            void testCompile() throws MojoExecutionException, MojoFailureException {
+                Properties properties = new Properties();
+                properties.setProperty("maven.compiler.release", "11");
+
+                MavenProject project = mock(MavenProject.class);
+                when(project.getProperties()).thenReturn(properties);
+
+                ListResourcesMojo mojo = new ListResourcesMojo();
+                mojo.project = project;
+                mojo.includes = new String[] { "**/*.properties" };
+                mojo.setLog(mock(Log.class));
+
+                mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+                mojo.resourceBaseDir = Paths.get("src/main/resources");
+                Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+                mojo.resourceListClass = new ResourceListClass();
+                mojo.resourceListClass.className = "com.github.robtimus.maven.plugins.resourcelist.ResourceList";
+                mojo.resourceListClass.compile = true;
+
+                mojo.execute(buildOutputDir);
+
+                assertEquals("11", mojo.resourceListClass.release);
+                assertNull(mojo.resourceListClass.outputDirectory);
+
+                verify(project, never()).addCompileSourceRoot(any());
+
+                Path resourceListClassFile = buildOutputDir.resolve("com/github/robtimus/maven/plugins/resourcelist/ResourceList.class");
+
+                assertTrue(Files.exists(resourceListClassFile));
+            }
+
+            @Test
+            void testJava11OptionsWithOlderRelease() {
+                Properties properties = new Properties();
+                properties.setProperty("maven.compiler.target", "1.8");
+
+                MavenProject project = mock(MavenProject.class);
+                when(project.getProperties()).thenReturn(properties);
+
+                ListResourcesMojo mojo = new ListResourcesMojo();
+                mojo.project = project;
+                mojo.includes = new String[] { "**/*.properties" };
+                mojo.setLog(mock(Log.class));
+
+                mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+                mojo.resourceBaseDir = Paths.get("src/main/resources");
+                Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+                mojo.resourceListClass = new ResourceListClass();
+                mojo.resourceListClass.className = "com.github.robtimus.maven.plugins.resourcelist.ResourceList";
+                mojo.resourceListClass.outputDirectory = Paths.get(URI.create("memory:/generated"));
+                mojo.resourceListClass.cacheResources = true;
+
+                MojoFailureException exception = assertThrows(MojoFailureException.class, () -> mojo.execute(buildOutputDir));
+                assertEquals(Messages.listResources.resourceListClassRequiresJava11("8"), exception.getMessage());
+
+                Path resourceListClassFile = mojo.resourceListClass.outputDirectory
+                        .resolve("com/github/robtimus/maven/plugins/resourcelist/ResourceList.java");
+
+                assertFalse(Files.exists(resourceListClassFile));
+            }
+
+            @Test
+            void testJava11OptionsWithOlderCompileRelease() {
+                Properties properties = new Properties();
+                properties.setProperty("maven.compiler.release", "11");
+
+                MavenProject project = mock(MavenProject.class);
+                when(project.getProperties()).thenReturn(properties);
+
+                ListResourcesMojo mojo = new ListResourcesMojo();
+                mojo.project = project;
+                mojo.includes = new String[] { "**/*.properties" };
+                mojo.setLog(mock(Log.class));
+
+                mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+                mojo.resourceBaseDir = Paths.get("src/main/resources");
+                Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+                mojo.resourceListClass = new ResourceListClass();
+                mojo.resourceListClass.className = "com.github.robtimus.maven.plugins.resourcelist.ResourceList";
+                mojo.resourceListClass.indexResources = true;
+                mojo.resourceListClass.compile = true;
+                mojo.resourceListClass.release = "8";
+
+                MojoFailureException exception = assertThrows(MojoFailureException.class, () -> mojo.execute(buildOutputDir));
+                assertEquals(Messages.listResources.resourceListClassRequiresJava11("8"), exception.getMessage());
+            }
+
+            @Test
+            void testDefaultClassWithOlderRelease() throws MojoExecutionException, MojoFailureException {
+                Properties properties = new Properties();
+                properties.setProperty("maven.compiler.release", "8");
+
+                MavenProject project = mock(MavenProject.class);
+                when(project.getProperties()).thenReturn(properties);
+
+                ListResourcesMojo mojo = new ListResourcesMojo();
+                mojo.project = project;
+                mojo.includes = new String[] { "**/*.properties" };
+                mojo.setLog(mock(Log.class));
+
+                mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+                mojo.resourceBaseDir = Paths.get("src/main/resources");
+                Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+                mojo.resourceListClass = new ResourceListClass();
+                mojo.resourceListClass.className = "com.github.robtimus.maven.plugins.resourcelist.ResourceList";
+                mojo.resourceListClass.instrumentResources = true;
+                mojo.resourceListClass.compile = true;
+
+                mojo.execute(buildOutputDir);
+
+                assertEquals("8", mojo.resourceListClass.release);
+
+                Path resourceListClassFile = buildOutputDir.resolve("com/github/robtimus/maven/plugins/resourcelist/ResourceList.class");
+
+                assertTrue(Files.exists(resourceListClassFile));
+            }
+
+            @ParameterizedTest
+            @CsvSource({
+                    "1, true",
+                    "1024, false",
+            })
+            void testEmbedResources(long maxEmbeddedSize, boolean expectTooLarge)
+                    throws MojoExecutionException, MojoFailureException, IOException {
+
+                MavenProject project = mock(MavenProject.class);
+                Log log = mock(Log.class);
+
+                ListResourcesMojo mojo = new ListResourcesMojo();
+                mojo.project = project;
+                mojo.includes = new String[] { "**/*.properties" };
+                mojo.setLog(log);
+
+                mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+                mojo.resourceBaseDir = Paths.get("src/main/resources");
+                Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+                mojo.resourceListClass = new ResourceListClass();
+                mojo.resourceListClass.className = "com.github.robtimus.maven.plugins.resourcelist.ResourceList";
+                mojo.resourceListClass.outputDirectory = Paths.get(URI.create("memory:/generated"));
+                mojo.resourceListClass.embedResources = true;
+                mojo.resourceListClass.maxEmbeddedSize = maxEmbeddedSize;
+
+                mojo.execute(buildOutputDir);
+
+                verify(log, times(expectTooLarge ? 1 : 0)).info(Messages.listResources.resourceListTooLargeToEmbed(maxEmbeddedSize));
+
+                Path resourceListClassFile = mojo.resourceListClass.outputDirectory
+                        .resolve("com/github/robtimus/maven/plugins/resourcelist/ResourceList.java");
+
+                String content = MemoryFileSystemProvider.getContentAsString(resourceListClassFile);
+                String embeddedResource = "\"com/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties\\n\"";
+                assertEquals(!expectTooLarge, content.contains(embeddedResource));
+            }
+
             @Test
             void testResourceListFileIsNoResource() throws IOException {
                 MavenProject project = mock(MavenProject.class);
@@ -324,6 +915,62 @@ class ListResourcesMojoTest {
 
                 assertFalse(Files.exists(resourceListClassFile));
             }
+
+            @Test
+            void testResourcePackFileIsNoResource() throws IOException {
+                MavenProject project = mock(MavenProject.class);
+
+                ListResourcesMojo mojo = new ListResourcesMojo();
+                mojo.project = project;
+                mojo.includes = new String[] { "**/*.properties" };
+                mojo.setLog(mock(Log.class));
+
+                mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+                mojo.resourceBaseDir = Paths.get("src/main/resources");
+                mojo.resourcePackFile = Paths.get(URI.create("memory:/project/target/subdir/resources.pack"));
+                Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+                mojo.resourceListClass = new ResourceListClass();
+                mojo.resourceListClass.className = "com.github.robtimus.maven.plugins.resourcelist.ResourceList";
+                mojo.resourceListClass.publicVisibility = false;
+                mojo.resourceListClass.outputDirectory = Paths.get(URI.create("memory:/generated"));
+
+                MojoFailureException exception = assertThrows(MojoFailureException.class, () -> mojo.execute(buildOutputDir));
+
+                assertEquals(Messages.listResources.resourceListClassForNonResourcePack(), exception.getMessage());
+
+                assertTrue(Files.exists(mojo.resourcePackFile));
+
+                Path resourceListClassFile = mojo.resourceListClass.outputDirectory
+                        .resolve("com/github/robtimus/maven/plugins/resourcelist/ResourceList.java");
+
+                assertFalse(Files.exists(resourceListClassFile));
+            }
+
+            @Test
+            void testCompileWithRuntimeLibrary() {
+                MavenProject project = mock(MavenProject.class);
+
+                ListResourcesMojo mojo = new ListResourcesMojo();
+                mojo.project = project;
+                mojo.includes = new String[] { "**/*.properties" };
+                mojo.setLog(mock(Log.class));
+
+                mojo.resourceListFile = Paths.get(URI.create("memory:/project/target/classes/resources"));
+                mojo.resourceBaseDir = Paths.get("src/main/resources");
+                Path buildOutputDir = Paths.get(URI.create("memory:/project/target/classes"));
+
+                mojo.resourceListClass = new ResourceListClass();
+                mojo.resourceListClass.className = "com.github.robtimus.maven.plugins.resourcelist.ResourceList";
+                mojo.resourceListClass.useRuntimeLibrary = true;
+                mojo.resourceListClass.compile = true;
+
+                MojoFailureException exception = assertThrows(MojoFailureException.class, () -> mojo.execute(buildOutputDir));
+
+                assertEquals(Messages.listResources.resourceListClassCompileWithRuntimeLibrary(), exception.getMessage());
+
+                assertFalse(Files.exists(buildOutputDir.resolve("com/github/robtimus/maven/plugins/resourcelist/ResourceList.class")));
+            }
         }
     }
 }
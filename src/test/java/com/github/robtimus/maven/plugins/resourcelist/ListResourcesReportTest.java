@@ -0,0 +1,190 @@
+/*
+ * ListResourcesReportTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.filesystems.memory.MemoryFileSystemProvider;
+
+@SuppressWarnings("nls")
+class ListResourcesReportTest {
+
+    @Test
+    void testPhase() {
+        ListResourcesReport report = new ListResourcesReport(statistics());
+        report.scanned(resources());
+
+        long start = System.nanoTime() - 5_000_000;
+        report.phase(ListResourcesReport.WRITE, start);
+
+        assertTrue(report.totalNanos() >= 5_000_000 + 1_000_000 + 200_000 + 30_000);
+    }
+
+    @Test
+    void testTotalNanos() {
+        ListResourcesReport report = new ListResourcesReport(statistics());
+        report.scanned(resources());
+
+        assertEquals(1_000_000 + 200_000 + 30_000, report.totalNanos());
+    }
+
+    @Nested
+    class LogSummary {
+
+        @Test
+        void testWithoutDebugLogging() {
+            Log log = mock(Log.class);
+
+            ListResourcesReport report = new ListResourcesReport(statistics());
+            report.scanned(resources());
+            report.log(log);
+
+            verify(log).info(Messages.ListResourcesReport.summary(2, 300, 1, 4, 5, 1));
+            verify(log, never()).debug(anyString());
+        }
+
+        @Test
+        void testWithDebugLogging() {
+            Log log = mock(Log.class);
+            when(log.isDebugEnabled()).thenReturn(true);
+
+            ListResourcesReport report = new ListResourcesReport(statistics());
+            report.scanned(resources());
+            report.log(log);
+
+            verify(log).info(Messages.ListResourcesReport.summary(2, 300, 1, 4, 5, 1));
+            verify(log).debug(Messages.ListResourcesReport.phase(ListResourcesReport.WALK, 1));
+            verify(log).debug(Messages.ListResourcesReport.phase(ListResourcesReport.MATCH, 0));
+            verify(log).debug(Messages.ListResourcesReport.phase(ListResourcesReport.SORT, 0));
+            verify(log).debug(Messages.ListResourcesReport.resources(2, 1, 2));
+            verify(log).debug(Messages.ListResourcesReport.includeHits("**/*.txt", 3));
+            verify(log).debug(Messages.ListResourcesReport.excludeHits("**/\"quoted\"/**", 1));
+            verify(log).debug(Messages.ListResourcesReport.excludeHits("**/*.tmp", 1));
+        }
+    }
+
+    @Nested
+    class Write {
+
+        @BeforeEach
+        void clearMemoryFileSystem() {
+            MemoryFileSystemProvider.clear();
+        }
+
+        @Test
+        void testWrite() throws MojoExecutionException, IOException {
+            Path file = Paths.get(URI.create("memory:/project/target/reports/resource-list-report.json"));
+
+            ListResourcesReport report = new ListResourcesReport(statistics());
+            report.scanned(resources());
+            report.write(file);
+
+            String expected = "{\n"
+                    + "  \"resources\": {\n"
+                    + "    \"count\": 2,\n"
+                    + "    \"totalSize\": 300,\n"
+                    + "    \"included\": 2,\n"
+                    + "    \"notIncluded\": 1,\n"
+                    + "    \"excluded\": 2\n"
+                    + "  },\n"
+                    + "  \"scan\": {\n"
+                    + "    \"directoriesVisited\": 4,\n"
+                    + "    \"filesVisited\": 5,\n"
+                    + "    \"subtreesPruned\": 1\n"
+                    + "  },\n"
+                    + "  \"phaseNanos\": {\n"
+                    + "    \"walk\": 1000000,\n"
+                    + "    \"match\": 200000,\n"
+                    + "    \"sort\": 30000\n"
+                    + "  },\n"
+                    + "  \"totalNanos\": 1230000,\n"
+                    + "  \"includes\": [\n"
+                    + "    {\n"
+                    + "      \"pattern\": \"**/*.txt\",\n"
+                    + "      \"hits\": 3\n"
+                    + "    }\n"
+                    + "  ],\n"
+                    + "  \"excludes\": [\n"
+                    + "    {\n"
+                    + "      \"pattern\": \"**/\\\"quoted\\\"/**\",\n"
+                    + "      \"hits\": 1\n"
+                    + "    },\n"
+                    + "    {\n"
+                    + "      \"pattern\": \"**/*.tmp\",\n"
+                    + "      \"hits\": 1\n"
+                    + "    }\n"
+                    + "  ]\n"
+                    + "}\n";
+
+            assertEquals(expected, MemoryFileSystemProvider.getContentAsString(file));
+        }
+
+        @Test
+        void testWriteWithoutPatterns() throws MojoExecutionException, IOException {
+            Path file = Paths.get(URI.create("memory:/resource-list-report.json"));
+
+            ListResourcesReport report = new ListResourcesReport(new ScanStatistics(List.of(), List.of()));
+            report.scanned(Map.of());
+            report.write(file);
+
+            String content = MemoryFileSystemProvider.getContentAsString(file);
+            assertTrue(content.endsWith("  \"includes\": [],\n  \"excludes\": []\n}\n"), content);
+        }
+    }
+
+    private static ScanStatistics statistics() {
+        ScanStatistics statistics = new ScanStatistics(List.of("**/*.txt"), List.of("**/\"quoted\"/**", "**/*.tmp"));
+        statistics.directoriesVisited = 4;
+        statistics.filesVisited = 5;
+        statistics.subtreesPruned = 1;
+        statistics.resourcesIncluded = 2;
+        statistics.resourcesNotIncluded = 1;
+        statistics.resourcesExcluded = 2;
+        statistics.includeHits[0] = 3;
+        statistics.excludeHits[0] = 1;
+        statistics.excludeHits[1] = 1;
+        statistics.walkNanos = 1_000_000;
+        statistics.matchNanos = 200_000;
+        statistics.sortNanos = 30_000;
+        return statistics;
+    }
+
+    private static Map<String, Long> resources() {
+        Map<String, Long> resources = new TreeMap<>();
+        resources.put("a.txt", 100L);
+        resources.put("b/c.txt", 200L);
+        return resources;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * NativeImageConfigWriterTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import com.github.robtimus.filesystems.memory.MemoryFileAttributeView;
+import com.github.robtimus.filesystems.memory.MemoryFileSystemProvider;
+
+@SuppressWarnings("nls")
+class NativeImageConfigWriterTest {
+
+    @BeforeEach
+    void clearMemoryFileSystem() {
+        MemoryFileSystemProvider.clear();
+    }
+
+    @Nested
+    class WriteResourceConfig {
+
+        @Test
+        void testWithResources() throws MojoExecutionException, IOException {
+            Path file = Paths.get(URI.create("memory:/native-image/resource-config.json"));
+
+            NativeImageConfigWriter writer = new NativeImageConfigWriter();
+            writer.writeResourceConfig(file, List.of("META-INF/test.resources", "dir/file.txt"));
+
+            String expected = "{\n"
+                    + "  \"resources\": {\n"
+                    + "    \"includes\": [\n"
+                    + "      {\n"
+                    + "        \"pattern\": \"\\\\QMETA-INF/test.resources\\\\E\"\n"
+                    + "      },\n"
+                    + "      {\n"
+                    + "        \"pattern\": \"\\\\Qdir/file.txt\\\\E\"\n"
+                    + "      }\n"
+                    + "    ]\n"
+                    + "  }\n"
+                    + "}\n";
+
+            assertEquals(expected, MemoryFileSystemProvider.getContentAsString(file));
+        }
+
+        @Test
+        void testWithoutResources() throws MojoExecutionException, IOException {
+            Path file = Paths.get(URI.create("memory:/native-image/resource-config.json"));
+
+            NativeImageConfigWriter writer = new NativeImageConfigWriter();
+            writer.writeResourceConfig(file, List.of());
+
+            String expected = "{\n"
+                    + "  \"resources\": {\n"
+                    + "    \"includes\": []\n"
+                    + "  }\n"
+                    + "}\n";
+
+            assertEquals(expected, MemoryFileSystemProvider.getContentAsString(file));
+        }
+
+        @Test
+        void testWriteError() throws IOException {
+            Path file = Paths.get(URI.create("memory:/native-image/resource-config.json"));
+
+            Files.createDirectories(file.getParent());
+            Files.getFileAttributeView(file.getParent(), MemoryFileAttributeView.class).setReadOnly(true);
+
+            NativeImageConfigWriter writer = new NativeImageConfigWriter();
+            List<String> resources = List.of("dir/file.txt");
+
+            MojoExecutionException exception = assertThrows(MojoExecutionException.class, () -> writer.writeResourceConfig(file, resources));
+
+            AccessDeniedException cause = assertInstanceOf(AccessDeniedException.class, exception.getCause());
+            assertEquals(file.getParent().toString(), cause.getFile());
+
+            assertFalse(Files.exists(file));
+        }
+    }
+
+    @Test
+    void testWriteNativeImageProperties() throws MojoExecutionException, IOException {
+        Path file = Paths.get(URI.create("memory:/native-image/native-image.properties"));
+
+        NativeImageConfigWriter writer = new NativeImageConfigWriter();
+        writer.writeNativeImageProperties(file, List.of("test.ResourceList", "test.ResourceList$Nested"));
+
+        assertEquals("Args = --initialize-at-build-time=test.ResourceList,test.ResourceList$Nested\n",
+                MemoryFileSystemProvider.getContentAsString(file));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "plain,       plain",
+            "'a\"b',      'a\\\"b'",
+            "'a\\b',      'a\\\\b'"
+    })
+    void testEscapeJson(String value, String expected) {
+        assertEquals(expected, NativeImageConfigWriter.escapeJson(value));
+    }
+
+    @Test
+    void testEscapeJsonControlCharacters() {
+        assertEquals("\\n\\r\\t\\u0001", NativeImageConfigWriter.escapeJson("\n\r\t\u0001"));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * ResourceBudgetCheckerTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+@SuppressWarnings("nls")
+class ResourceBudgetCheckerTest {
+
+    private static Map<String, Long> resources() {
+        Map<String, Long> resources = new TreeMap<>();
+        resources.put("a.txt", 100L);
+        resources.put("b.txt", 300L);
+        resources.put("c.txt", 200L);
+        resources.put("dir/d.bin", 5000L);
+        resources.put("dir/e.bin", 10L);
+        return resources;
+    }
+
+    @Nested
+    class CheckBudget {
+
+        @Test
+        void testWithinBudget() {
+            ResourceBudget budget = new ResourceBudget();
+            budget.maxCount = 5;
+            budget.maxTotalSize = 5610L;
+            budget.maxSize = 5000L;
+
+            Log log = mock(Log.class);
+            ResourceBudgetChecker checker = new ResourceBudgetChecker(10, true, log);
+
+            assertFalse(checker.check(budget, resources()));
+
+            verify(log, never()).error(any(CharSequence.class));
+            verify(log, never()).warn(any(CharSequence.class));
+        }
+
+        @Test
+        void testCountExceeded() {
+            ResourceBudget budget = new ResourceBudget();
+            budget.maxCount = 4;
+
+            Log log = mock(Log.class);
+            ResourceBudgetChecker checker = new ResourceBudgetChecker(2, true, log);
+
+            assertTrue(checker.check(budget, resources()));
+
+            InOrder inOrder = inOrder(log);
+            inOrder.verify(log).debug(Messages.ResourceBudgetChecker.checkingBudget(budget));
+            inOrder.verify(log).error(Messages.ResourceBudgetChecker.countExceeded(Messages.ResourceBudget.allResources(), 5, 4));
+            inOrder.verify(log).error(Messages.ResourceBudgetChecker.offendingResource("dir/d.bin", 5000L));
+            inOrder.verify(log).error(Messages.ResourceBudgetChecker.offendingResource("b.txt", 300L));
+            inOrder.verifyNoMoreInteractions();
+        }
+
+        @Test
+        void testTotalSizeExceeded() {
+            ResourceBudget budget = new ResourceBudget();
+            budget.includes = new String[] { "*.txt" };
+            budget.maxTotalSize = 599L;
+
+            Log log = mock(Log.class);
+            ResourceBudgetChecker checker = new ResourceBudgetChecker(10, false, log);
+
+            assertTrue(checker.check(budget, resources()));
+
+            InOrder inOrder = inOrder(log);
+            inOrder.verify(log).debug(Messages.ResourceBudgetChecker.checkingBudget(budget));
+            inOrder.verify(log).warn(Messages.ResourceBudgetChecker.totalSizeExceeded("*.txt", 600L, 599L));
+            inOrder.verify(log).warn(Messages.ResourceBudgetChecker.offendingResource("b.txt", 300L));
+            inOrder.verify(log).warn(Messages.ResourceBudgetChecker.offendingResource("c.txt", 200L));
+            inOrder.verify(log).warn(Messages.ResourceBudgetChecker.offendingResource("a.txt", 100L));
+            inOrder.verifyNoMoreInteractions();
+        }
+
+        @Test
+        void testSizeExceeded() {
+            ResourceBudget budget = new ResourceBudget();
+            budget.maxSize = 150L;
+
+            Log log = mock(Log.class);
+            ResourceBudgetChecker checker = new ResourceBudgetChecker(10, true, log);
+
+            assertTrue(checker.check(budget, resources()));
+
+            InOrder inOrder = inOrder(log);
+            inOrder.verify(log).debug(Messages.ResourceBudgetChecker.checkingBudget(budget));
+            inOrder.verify(log).error(Messages.ResourceBudgetChecker.sizeExceeded(Messages.ResourceBudget.allResources(), 3, 150L));
+            inOrder.verify(log).error(Messages.ResourceBudgetChecker.offendingResource("dir/d.bin", 5000L));
+            inOrder.verify(log).error(Messages.ResourceBudgetChecker.offendingResource("b.txt", 300L));
+            inOrder.verify(log).error(Messages.ResourceBudgetChecker.offendingResource("c.txt", 200L));
+            inOrder.verifyNoMoreInteractions();
+        }
+    }
+
+    @Nested
+    class CheckBudgets {
+
+        @Test
+        void testWithinBudgets() {
+            ResourceBudget budget1 = new ResourceBudget();
+            budget1.maxCount = 5;
+
+            ResourceBudget budget2 = new ResourceBudget();
+            budget2.includes = new String[] { "dir/**" };
+            budget2.maxSize = 5000L;
+
+            ResourceBudgetChecker checker = new ResourceBudgetChecker(10, true, mock(Log.class));
+
+            assertDoesNotThrow(() -> checker.check(new ResourceBudget[] { budget1, budget2 }, resources()));
+        }
+
+        @Test
+        void testBudgetExceeded() {
+            ResourceBudget budget1 = new ResourceBudget();
+            budget1.maxCount = 5;
+
+            ResourceBudget budget2 = new ResourceBudget();
+            budget2.includes = new String[] { "dir/**" };
+            budget2.maxSize = 4999L;
+
+            ResourceBudgetChecker checker = new ResourceBudgetChecker(10, true, mock(Log.class));
+
+            MojoFailureException exception = assertThrows(MojoFailureException.class,
+                    () -> checker.check(new ResourceBudget[] { budget1, budget2 }, resources()));
+            assertEquals(Messages.ResourceBudgetChecker.budgetsExceeded(), exception.getMessage());
+        }
+
+        @Test
+        void testBudgetExceededWithoutFailing() {
+            ResourceBudget budget = new ResourceBudget();
+            budget.maxCount = 1;
+
+            Log log = mock(Log.class);
+            ResourceBudgetChecker checker = new ResourceBudgetChecker(10, false, log);
+
+            assertDoesNotThrow(() -> checker.check(new ResourceBudget[] { budget }, resources()));
+
+            verify(log).warn(Messages.ResourceBudgetChecker.countExceeded(Messages.ResourceBudget.allResources(), 5, 1));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * ResourceBudgetTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("nls")
+class ResourceBudgetTest {
+
+    @Test
+    void testAppliesToWithoutIncludes() {
+        ResourceBudget budget = new ResourceBudget();
+
+        assertTrue(budget.appliesTo("foo.txt"));
+        assertTrue(budget.appliesTo("dir/foo.txt"));
+
+        budget.includes = new String[0];
+
+        assertTrue(budget.appliesTo("foo.txt"));
+        assertTrue(budget.appliesTo("dir/foo.txt"));
+    }
+
+    @Test
+    void testAppliesToWithIncludes() {
+        ResourceBudget budget = new ResourceBudget();
+        budget.includes = new String[] { "dir/**", "*.properties" };
+
+        assertFalse(budget.appliesTo("foo.txt"));
+        assertTrue(budget.appliesTo("dir/foo.txt"));
+        assertTrue(budget.appliesTo("foo.properties"));
+        assertFalse(budget.appliesTo("other/foo.properties"));
+    }
+
+    @Test
+    void testDescription() {
+        ResourceBudget budget = new ResourceBudget();
+
+        assertEquals(Messages.ResourceBudget.allResources(), budget.description());
+
+        budget.includes = new String[] { "dir/**", "*.properties" };
+
+        assertEquals("dir/**, *.properties", budget.description());
+    }
+
+    @Test
+    void testToString() {
+        ResourceBudget budget = new ResourceBudget();
+        budget.includes = new String[] { "dir/**" };
+        budget.maxCount = 10;
+        budget.maxSize = 1024L;
+
+        assertEquals("includes: [dir/**], maxCount: 10, maxTotalSize: null, maxSize: 1024", budget.toString());
+    }
+}
@@ -19,40 +19,78 @@ package com.github.robtimus.maven.plugins.resourcelist;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.ReadOnlyFileSystemException;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaCompiler.CompilationTask;
 import javax.tools.JavaFileObject;
@@ -60,6 +98,7 @@ import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -93,7 +132,7 @@ class ResourceListClassGeneratorTest {
             resourceListClass.outputDirectory = Paths.get(URI.create("memory:/generated"));
 
             ResourceListClassGenerator generator = new ResourceListClassGenerator();
-            generator.generateClassFile(resourceListClass, resourceListResource);
+            generator.generateClassFile(resourceListClass, List.of(), resourceListResource, null);
 
             Path classFile = resourceListClass.outputDirectory.resolve("com/github/robtimus/maven/plugins/resourcelist/TestResourceList.java");
 
@@ -134,12 +173,67 @@ class ResourceListClassGeneratorTest {
             test(false, "subdir", expectedContent);
         }
 
+        @Test
+        void testRuntimeLibraryPublicWithRootResource(@TestResource("ResourceListFacade.java.public.rootResource") String expectedContent)
+                throws MojoExecutionException, IOException {
+
+            test(true, "", true, expectedContent);
+        }
+
+        @Test
+        void testRuntimeLibraryNonPublicWithNonRootResource(
+                @TestResource("ResourceListFacade.java.nonPublic.nonRootResource") String expectedContent)
+                throws MojoExecutionException, IOException {
+
+            test(false, "subdir", true, expectedContent);
+        }
+
+        @Test
+        void testRuntimeLibraryWithEmbeddedResources() throws MojoExecutionException, IOException {
+            ResourceListClass resourceListClass = new ResourceListClass();
+            resourceListClass.className = "com.github.robtimus.maven.plugins.resourcelist.ResourceList";
+            resourceListClass.outputDirectory = Paths.get(URI.create("memory:/generated"));
+            resourceListClass.useRuntimeLibrary = true;
+            resourceListClass.embedResources = true;
+            // ignored when using the runtime library
+            resourceListClass.cacheContent = true;
+
+            Resource resourceListResource = new Resource();
+            resourceListResource.addInclude("test.resources");
+            resourceListResource.setTargetPath("");
+
+            ResourceListClassGenerator generator = new ResourceListClassGenerator();
+            generator.generateClassFile(resourceListClass, List.of("a.txt", "dir/b.txt"), resourceListResource, null);
+
+            Path classFile = resourceListClass.outputDirectory.resolve("com/github/robtimus/maven/plugins/resourcelist/ResourceList.java");
+
+            String content = MemoryFileSystemProvider.getContentAsString(classFile);
+
+            assertThat(content, containsString("\"a.txt\\ndir/b.txt\\n\","));
+            assertThat(content, containsString("com.github.robtimus.resourcelist.ResourceList.parse("));
+            assertThat(content, not(containsString("RESOURCE_LIST_RESOURCE")));
+            assertThat(content, not(containsString("ContentCache")));
+
+            assertEquals(List.of(
+                    "com.github.robtimus.maven.plugins.resourcelist.ResourceList",
+                    "com.github.robtimus.maven.plugins.resourcelist.ResourceList$RelativeResources",
+                    "com.github.robtimus.resourcelist"),
+                    generator.buildTimeInitializedClasses(resourceListClass, List.of("a.txt", "dir/b.txt"), List.of(), null));
+        }
+
         private void test(boolean publicVisibility, String targetPath, String expectedContent)
                 throws MojoExecutionException, IOException {
 
+            test(publicVisibility, targetPath, false, expectedContent);
+        }
+
+        private void test(boolean publicVisibility, String targetPath, boolean useRuntimeLibrary, String expectedContent)
+                throws MojoExecutionException, IOException {
+
             ResourceListClass resourceListClass = new ResourceListClass();
             resourceListClass.className = "com.github.robtimus.maven.plugins.resourcelist.ResourceList";
             resourceListClass.publicVisibility = publicVisibility;
+            resourceListClass.useRuntimeLibrary = useRuntimeLibrary;
             resourceListClass.outputDirectory = Paths.get(URI.create("memory:/generated"));
 
             Resource resourceListResource = new Resource();
@@ -147,7 +241,7 @@ class ResourceListClassGeneratorTest {
             resourceListResource.setTargetPath(targetPath);
 
             ResourceListClassGenerator generator = new ResourceListClassGenerator();
-            generator.generateClassFile(resourceListClass, resourceListResource);
+            generator.generateClassFile(resourceListClass, List.of(), resourceListResource, null);
 
             Path classFile = resourceListClass.outputDirectory.resolve("com/github/robtimus/maven/plugins/resourcelist/ResourceList.java");
 
@@ -174,7 +268,7 @@ class ResourceListClassGeneratorTest {
             ResourceListClassGenerator generator = new ResourceListClassGenerator();
 
             MojoExecutionException exception = assertThrows(MojoExecutionException.class,
-                    () -> generator.generateClassFile(resourceListClass, resourceListResource));
+                    () -> generator.generateClassFile(resourceListClass, List.of(), resourceListResource, null));
 
             AccessDeniedException cause = assertInstanceOf(AccessDeniedException.class, exception.getCause());
             assertEquals(resourceListClass.outputDirectory.toString(), cause.getFile());
@@ -207,7 +301,7 @@ class ResourceListClassGeneratorTest {
 
                 ResourceListClassGenerator generator = new ResourceListClassGenerator();
 
-                generator.generateClassFile(resourceListClass, resourceListResource);
+                generator.generateClassFile(resourceListClass, List.of(), resourceListResource, null);
 
                 String expectedResource = ("/" + targetPath + "/test.resources").replace("//", "/");
 
@@ -216,19 +310,1983 @@ class ResourceListClassGeneratorTest {
                 validateGeneratedClass(publicVisibility, expectedResource);
             }
 
-            private void compileCode() throws IOException {
-                File sourceFile = baseDir.resolve("test/ResourceList.java").toFile();
+            @CartesianTest
+            void testCompileClassFile(
+                    @CartesianTest.Values(booleans = { true, false }) boolean publicVisibility,
+                    @CartesianTest.Values(strings = { "", "subdir" }) String targetPath)
+                            throws MojoExecutionException, IOException, ReflectiveOperationException {
 
-                JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.publicVisibility = publicVisibility;
+                resourceListClass.compile = true;
 
-                try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath(targetPath);
 
-                    Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjects(sourceFile);
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
 
-                    CompilationTask compilationTask = compiler.getTask(null, fileManager, null, null, null, compilationUnits);
+                generator.compileClassFile(resourceListClass, List.of(), resourceListResource, null, baseDir);
 
-                    Boolean compiledSuccessfully = compilationTask.call();
-                    assertEquals(Boolean.TRUE, compiledSuccessfully);
+                assertFalse(Files.exists(baseDir.resolve("test/ResourceList.java")));
+                assertTrue(Files.exists(baseDir.resolve("test/ResourceList.class")));
+
+                String expectedResource = ("/" + targetPath + "/test.resources").replace("//", "/");
+
+                validateGeneratedClass(publicVisibility, expectedResource);
+            }
+
+            @Test
+            void testCompileClassFileWithNestedClasses() throws MojoExecutionException, IOException {
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.initializeAtBuildTime = true;
+                resourceListClass.compile = true;
+                resourceListClass.release = "11";
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.compileClassFile(resourceListClass, List.of(), resourceListResource, null, baseDir);
+
+                for (String className : generator.buildTimeInitializedClasses(resourceListClass, List.of(), List.of(), null)) {
+                    assertTrue(Files.exists(baseDir.resolve(className.replace('.', '/') + ".class")));
+                }
+            }
+
+            @CartesianTest
+            void testBuildTimeInitializedClassesCoverImageHeap(
+                    @CartesianTest.Values(booleans = { true, false }) boolean indexResources,
+                    @CartesianTest.Values(booleans = { true, false }) boolean compactResources,
+                    @CartesianTest.Values(booleans = { true, false }) boolean cacheContent,
+                    @CartesianTest.Values(booleans = { true, false }) boolean withHotResources)
+                            throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.initializeAtBuildTime = true;
+                resourceListClass.indexResources = indexResources;
+                resourceListClass.compactResources = compactResources;
+                resourceListClass.cacheContent = cacheContent;
+                resourceListClass.extractResources = true;
+                resourceListClass.compile = true;
+                resourceListClass.release = "11";
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                List<String> resources = List.of("a.txt", "dir/b.txt");
+                List<String> hotResources = withHotResources ? List.of("dir/b.txt") : List.of();
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.compileClassFile(resourceListClass, resources, Map.of(), hotResources, resourceListResource, null, baseDir);
+
+                List<String> buildTimeInitializedClasses = generator.buildTimeInitializedClasses(resourceListClass, resources, hotResources, null);
+
+                // The objects that the static fields of the registered classes refer to become part of the image heap.
+                // Their classes, and the classes of the objects that these refer to, must be registered as well
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Set<Class<?>> checked = new HashSet<>();
+                    Deque<Class<?>> toCheck = new ArrayDeque<>();
+                    for (String className : buildTimeInitializedClasses) {
+                        Class<?> type = Class.forName(className, false, classLoader);
+                        for (Field field : type.getDeclaredFields()) {
+                            if (Modifier.isStatic(field.getModifiers())) {
+                                toCheck.add(field.getType());
+                            }
+                        }
+                    }
+                    while (!toCheck.isEmpty()) {
+                        Class<?> type = toCheck.remove();
+                        while (type.isArray()) {
+                            type = type.getComponentType();
+                        }
+                        if (type.getName().startsWith("test.ResourceList") && checked.add(type)) {
+                            assertThat(buildTimeInitializedClasses, hasItem(type.getName()));
+                            for (Field field : type.getDeclaredFields()) {
+                                if (!Modifier.isStatic(field.getModifiers())) {
+                                    toCheck.add(field.getType());
+                                }
+                            }
+                        }
+                    }
+                }
+
+                assertThat(buildTimeInitializedClasses, hasItem("test.ResourceList$Resources"));
+                assertEquals(indexResources, buildTimeInitializedClasses.contains("test.ResourceList$ResourceIndex"));
+                assertEquals(withHotResources, buildTimeInitializedClasses.contains("test.ResourceList$HotResources"));
+                assertFalse(buildTimeInitializedClasses.contains("test.ResourceList$ContentCache"));
+            }
+
+            @Test
+            void testCompileClassFileWithInvalidRelease() {
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.compile = true;
+                resourceListClass.release = "invalid";
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                assertThrows(MojoExecutionException.class,
+                        () -> generator.compileClassFile(resourceListClass, List.of(), resourceListResource, null, baseDir));
+
+                assertFalse(Files.exists(baseDir.resolve("test/ResourceList.class")));
+            }
+
+            @CartesianTest
+            void testInitializeAtBuildTime(
+                    @CartesianTest.Values(booleans = { true, false }) boolean publicVisibility,
+                    @CartesianTest.Values(strings = { "", "subdir" }) String targetPath)
+                            throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                Files.createDirectories(baseDir.resolve(targetPath));
+                Files.writeString(baseDir.resolve(targetPath).resolve("test.resources"), "dir/bar.txt\ndir/foo.txt\nfoo.txt\n");
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.publicVisibility = publicVisibility;
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.initializeAtBuildTime = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath(targetPath);
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, List.of(), resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    List<String> expectedAbsolute = List.of("/dir/bar.txt", "/dir/foo.txt", "/foo.txt");
+                    List<String> expectedRelative = List.of("dir/bar.txt", "dir/foo.txt", "foo.txt");
+
+                    assertResources(expectedAbsolute, absolute, lookup);
+                    assertResources(expectedRelative, relative, lookup);
+
+                    for (String className : generator.buildTimeInitializedClasses(resourceListClass, List.of(), List.of(), null)) {
+                        assertDoesNotThrow(() -> Class.forName(className, false, classLoader));
+                    }
+                }
+            }
+
+            @CartesianTest
+            void testCacheResources(
+                    @CartesianTest.Values(booleans = { true, false }) boolean publicVisibility,
+                    @CartesianTest.Values(strings = { "", "\n", "\r\n" }) String lastLineSeparator)
+                            throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                Files.writeString(baseDir.resolve("test.resources"), "dir/bar.txt\r\ndir/f\u00f6\u00f6\u20ac.txt\nfoo.txt" + lastLineSeparator,
+                        StandardCharsets.UTF_8);
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.publicVisibility = publicVisibility;
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheResources = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, List.of(), resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    List<String> expectedAbsolute = List.of("/dir/bar.txt", "/dir/f\u00f6\u00f6\u20ac.txt", "/foo.txt");
+                    List<String> expectedRelative = List.of("dir/bar.txt", "dir/f\u00f6\u00f6\u20ac.txt", "foo.txt");
+
+                    assertResources(expectedAbsolute, absolute, lookup);
+                    assertResources(expectedRelative, relative, lookup);
+
+                    // The resource list is read only once
+                    Files.delete(baseDir.resolve("test.resources"));
+
+                    MethodHandle list = lookup.findVirtual(resourceListClassType, "list", MethodType.methodType(List.class));
+                    Object relativeList = assertDoesNotThrow(() -> list.invoke(relative));
+                    assertEquals(expectedRelative, relativeList);
+                    assertSame(relativeList, assertDoesNotThrow(() -> list.invoke(relative)));
+                }
+            }
+
+            @CartesianTest
+            void testCompactResources(
+                    @CartesianTest.Values(booleans = { true, false }) boolean embedResources,
+                    @CartesianTest.Values(strings = { "", "\n", "\r\n" }) String lastLineSeparator)
+                            throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                // Enough resources for several blocks, with resources that share part of a multi-byte character and long resources
+                List<String> expectedRelative = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    expectedRelative.add(String.format("dir%d/sub/file-%04d.txt", i / 30, i));
+                }
+                expectedRelative.add("f\u00f6\u00f6.txt");
+                expectedRelative.add("f\u00f7.txt");
+                expectedRelative.add("long/" + "x".repeat(300) + ".txt");
+                List<String> expectedAbsolute = expectedRelative.stream()
+                        .map(resource -> "/" + resource)
+                        .collect(Collectors.toList());
+
+                Files.writeString(baseDir.resolve("test.resources"), String.join("\r\n", expectedRelative) + lastLineSeparator,
+                        StandardCharsets.UTF_8);
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.compactResources = true;
+                resourceListClass.embedResources = embedResources;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, expectedRelative, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    assertResources(expectedAbsolute, absolute, lookup);
+                    assertResources(expectedRelative, relative, lookup);
+
+                    MethodHandle list = lookup.findVirtual(resourceListClassType, "list", MethodType.methodType(List.class));
+                    List<?> relativeList = (List<?>) assertDoesNotThrow(() -> list.invoke(relative));
+                    List<?> absoluteList = (List<?>) assertDoesNotThrow(() -> list.invoke(absolute));
+
+                    // random access, in reverse order to not rely on any sequential decoding
+                    for (int i = expectedRelative.size() - 1; i >= 0; i--) {
+                        assertEquals(expectedRelative.get(i), relativeList.get(i));
+                        assertEquals(expectedAbsolute.get(i), absoluteList.get(i));
+                    }
+                    assertThrows(IndexOutOfBoundsException.class, () -> relativeList.get(-1));
+                    assertThrows(IndexOutOfBoundsException.class, () -> relativeList.get(expectedRelative.size()));
+
+                    assertEquals(expectedRelative.subList(20, 70), relativeList.subList(20, 70));
+                    assertEquals(expectedRelative.hashCode(), relativeList.hashCode());
+                    assertThrows(UnsupportedOperationException.class, () -> relativeList.remove(0));
+
+                    MethodHandle stream = lookup.findVirtual(resourceListClassType, "stream", MethodType.methodType(Stream.class));
+                    try (Stream<?> resources = (Stream<?>) assertDoesNotThrow(() -> stream.invoke(absolute))) {
+                        assertEquals(expectedAbsolute, resources.parallel().collect(Collectors.toList()));
+                    }
+                }
+            }
+
+            @Test
+            void testCachedStream() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                List<String> expectedRelative = IntStream.range(0, 1000)
+                        .mapToObj(i -> String.format("dir/file-%04d.txt", i))
+                        .collect(Collectors.toList());
+
+                Files.write(baseDir.resolve("test.resources"), expectedRelative);
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheResources = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, List.of(), resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle size = lookup.findVirtual(resourceListClassType, "size", MethodType.methodType(int.class));
+                    assertEquals(1000, (int) assertDoesNotThrow(() -> size.invoke(relative)));
+
+                    MethodHandle stream = lookup.findVirtual(resourceListClassType, "stream", MethodType.methodType(Stream.class));
+
+                    try (Stream<?> resources = (Stream<?>) assertDoesNotThrow(() -> stream.invoke(relative))) {
+                        Spliterator<?> spliterator = resources.spliterator();
+                        int expectedCharacteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.SIZED
+                                | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+                        assertEquals(expectedCharacteristics, spliterator.characteristics());
+                        assertEquals(1000, spliterator.getExactSizeIfKnown());
+                        assertNull(spliterator.getComparator());
+
+                        Spliterator<?> prefix = spliterator.trySplit();
+                        assertEquals(500, prefix.getExactSizeIfKnown());
+                        assertEquals(500, spliterator.getExactSizeIfKnown());
+                    }
+
+                    try (Stream<?> resources = (Stream<?>) assertDoesNotThrow(() -> stream.invoke(relative))) {
+                        // count() does not need to traverse a sized stream
+                        assertEquals(1000, resources.peek(resource -> fail("Resources should not be traversed")).count());
+                    }
+
+                    try (Stream<?> resources = (Stream<?>) assertDoesNotThrow(() -> stream.invoke(relative))) {
+                        assertEquals(expectedRelative, resources.parallel().collect(Collectors.toList()));
+                    }
+                }
+            }
+
+            @Test
+            void testNavigation() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                List<String> resources = List.of("a-b/c.txt", "a.txt", "a/b.txt", "a/c/d.txt", "a/e.txt", "a0.txt", "x/y/z/f.txt");
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheResources = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle subtree = lookup.findVirtual(resourceListClassType, "subtree", MethodType.methodType(List.class, String.class));
+                    MethodHandle children = lookup.findVirtual(resourceListClassType, "children", MethodType.methodType(List.class, String.class));
+                    MethodHandle directories = lookup.findVirtual(resourceListClassType, "directories", MethodType.methodType(List.class));
+
+                    assertEquals(resources, assertDoesNotThrow(() -> subtree.invoke(relative, "")));
+                    assertEquals(List.of("a/b.txt", "a/c/d.txt", "a/e.txt"), assertDoesNotThrow(() -> subtree.invoke(relative, "a")));
+                    assertEquals(List.of("a/b.txt", "a/c/d.txt", "a/e.txt"), assertDoesNotThrow(() -> subtree.invoke(relative, "a/")));
+                    assertEquals(List.of("/a/c/d.txt"), assertDoesNotThrow(() -> subtree.invoke(absolute, "/a/c")));
+                    assertEquals(List.of("/x/y/z/f.txt"), assertDoesNotThrow(() -> subtree.invoke(absolute, "/x")));
+                    assertEquals(List.of(), assertDoesNotThrow(() -> subtree.invoke(absolute, "x")));
+                    assertEquals(List.of(), assertDoesNotThrow(() -> subtree.invoke(relative, "b")));
+
+                    assertEquals(List.of("a.txt", "a0.txt"), assertDoesNotThrow(() -> children.invoke(relative, "")));
+                    assertEquals(List.of("/a.txt", "/a0.txt"), assertDoesNotThrow(() -> children.invoke(absolute, "/")));
+                    assertEquals(List.of("a/b.txt", "a/e.txt"), assertDoesNotThrow(() -> children.invoke(relative, "a")));
+                    assertEquals(List.of("/a/b.txt", "/a/e.txt"), assertDoesNotThrow(() -> children.invoke(absolute, "/a/")));
+                    assertEquals(List.of(), assertDoesNotThrow(() -> children.invoke(relative, "x/y")));
+                    assertEquals(List.of(), assertDoesNotThrow(() -> children.invoke(absolute, "a")));
+
+                    assertEquals(List.of("a", "a-b", "a/c", "x", "x/y", "x/y/z"), assertDoesNotThrow(() -> directories.invoke(relative)));
+                    assertEquals(List.of("/a", "/a-b", "/a/c", "/x", "/x/y", "/x/y/z"), assertDoesNotThrow(() -> directories.invoke(absolute)));
+
+                    List<?> list = (List<?>) assertDoesNotThrow(() -> subtree.invoke(relative, "a"));
+                    assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+                }
+            }
+
+            @Test
+            void testGlobs() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                List<String> resources = List.of("a-b/c.json", "a.txt", "a/b.json", "a/c/d.json", "a/c/e.txt", "a0.json", "schemas/x.json");
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheResources = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle list = lookup.findVirtual(resourceListClassType, "list", MethodType.methodType(List.class, String.class));
+                    MethodHandle stream = lookup.findVirtual(resourceListClassType, "stream", MethodType.methodType(Stream.class, String.class));
+
+                    Map<String, List<String>> expectedMatches = new LinkedHashMap<>();
+                    expectedMatches.put("**", resources);
+                    expectedMatches.put("**/*.json", List.of("a-b/c.json", "a/b.json", "a/c/d.json", "a0.json", "schemas/x.json"));
+                    expectedMatches.put("*.json", List.of("a0.json"));
+                    expectedMatches.put("a/**", List.of("a/b.json", "a/c/d.json", "a/c/e.txt"));
+                    expectedMatches.put("a/*", List.of("a/b.json"));
+                    expectedMatches.put("a/**/*.txt", List.of("a/c/e.txt"));
+                    expectedMatches.put("a?*", List.of("a.txt", "a0.json"));
+                    expectedMatches.put("schemas/*.json", List.of("schemas/x.json"));
+                    expectedMatches.put("a.txt", List.of("a.txt"));
+                    expectedMatches.put("b/**", List.of());
+
+                    for (Map.Entry<String, List<String>> entry : expectedMatches.entrySet()) {
+                        String glob = entry.getKey();
+                        List<String> expected = entry.getValue();
+                        List<String> expectedAbsolute = expected.stream()
+                                .map(resource -> "/" + resource)
+                                .collect(Collectors.toList());
+
+                        assertEquals(expected, assertDoesNotThrow(() -> list.invoke(relative, glob)), glob);
+                        assertEquals(expected, collect(assertDoesNotThrow(() -> stream.invoke(relative, glob))), glob);
+                        assertEquals(expectedAbsolute, assertDoesNotThrow(() -> list.invoke(absolute, "/" + glob)), glob);
+                        assertEquals(expectedAbsolute, collect(assertDoesNotThrow(() -> stream.invoke(absolute, "/" + glob))), glob);
+
+                        // Like for includes and excludes, a glob only matches if both the glob and resource start with a / or neither does
+                        assertEquals(List.of(), assertDoesNotThrow(() -> list.invoke(relative, "/" + glob)), glob);
+                        assertEquals(List.of(), assertDoesNotThrow(() -> list.invoke(absolute, glob)), glob);
+
+                        for (String resource : resources) {
+                            assertEquals(ResourcesScanner.matches(resource, glob), expected.contains(resource), resource);
+                        }
+                    }
+                }
+            }
+
+            @Test
+            void testCacheContent() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                List<String> resources = IntStream.range(0, 64)
+                        .mapToObj(i -> String.format("dir/file-%02d.txt", i))
+                        .collect(Collectors.toList());
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                Files.createDirectories(baseDir.resolve("dir"));
+                for (String resource : resources) {
+                    // 150 bytes each
+                    Files.writeString(baseDir.resolve(resource), resource.repeat(10));
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheContent = true;
+                // Enough for 42 resources
+                resourceListClass.contentCacheSize = 6400;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle hits = lookup.findStatic(resourceListClassType, "contentCacheHits", MethodType.methodType(long.class));
+                    MethodHandle misses = lookup.findStatic(resourceListClassType, "contentCacheMisses", MethodType.methodType(long.class));
+                    MethodHandle evictions = lookup.findStatic(resourceListClassType, "contentCacheEvictions", MethodType.methodType(long.class));
+
+                    String resource = resources.get(0);
+
+                    assertEquals(Optional.of(resource.repeat(10)), readBytes(relative, resource, lookup));
+                    assertEquals(0L, (long) assertDoesNotThrow(() -> hits.invoke()));
+                    assertEquals(1L, (long) assertDoesNotThrow(() -> misses.invoke()));
+
+                    assertEquals(Optional.of(resource.repeat(10)), readStream(absolute, "/" + resource, lookup));
+                    assertEquals(Optional.of(resource.repeat(10)), readBytes(relative, resource, lookup));
+                    assertEquals(2L, (long) assertDoesNotThrow(() -> hits.invoke()));
+                    assertEquals(1L, (long) assertDoesNotThrow(() -> misses.invoke()));
+
+                    // Modifying the returned content does not affect the cache
+                    MethodHandle bytes = lookup.findVirtual(resourceListClassType, "bytes", MethodType.methodType(Optional.class, String.class));
+                    byte[] content = (byte[]) ((Optional<?>) assertDoesNotThrow(() -> bytes.invoke(relative, resource))).orElseThrow();
+                    Arrays.fill(content, (byte) 0);
+                    assertEquals(Optional.of(resource.repeat(10)), readBytes(relative, resource, lookup));
+
+                    assertEquals(Optional.empty(), readBytes(relative, "missing.txt", lookup));
+                    assertEquals(Optional.empty(), readBytes(relative, "/" + resource, lookup));
+                    assertEquals(Optional.empty(), readStream(absolute, resource, lookup));
+
+                    // The cache cannot hold all resources
+                    for (String r : resources) {
+                        assertEquals(Optional.of(r.repeat(10)), readBytes(relative, r, lookup));
+                    }
+                    assertNotEquals(0L, (long) assertDoesNotThrow(() -> evictions.invoke()));
+                }
+
+                // The size can be overridden using a system property; 0 disables caching
+                System.setProperty("test.ResourceList.contentCacheSize", "0");
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle hits = lookup.findStatic(resourceListClassType, "contentCacheHits", MethodType.methodType(long.class));
+                    MethodHandle misses = lookup.findStatic(resourceListClassType, "contentCacheMisses", MethodType.methodType(long.class));
+
+                    String resource = resources.get(0);
+
+                    assertEquals(Optional.of(resource.repeat(10)), readBytes(relative, resource, lookup));
+                    assertEquals(Optional.of(resource.repeat(10)), readBytes(relative, resource, lookup));
+                    assertEquals(0L, (long) assertDoesNotThrow(() -> hits.invoke()));
+                    assertEquals(2L, (long) assertDoesNotThrow(() -> misses.invoke()));
+                } finally {
+                    System.clearProperty("test.ResourceList.contentCacheSize");
+                }
+            }
+
+            @Test
+            void testCacheContentLargerThanSegment() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                List<String> resources = IntStream.range(0, 10)
+                        .mapToObj(i -> String.format("dir/file-%02d.txt", i))
+                        .collect(Collectors.toCollection(ArrayList::new));
+                resources.add("large.txt");
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                Files.createDirectories(baseDir.resolve("dir"));
+                for (String resource : resources) {
+                    // 150 bytes each
+                    Files.writeString(baseDir.resolve(resource), resource.repeat(10));
+                }
+                Files.writeString(baseDir.resolve("large.txt"), "x".repeat(1000));
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheContent = true;
+                // The cache is split into 16 segments, but the size applies to all of them together
+                resourceListClass.contentCacheSize = 1600;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle hits = lookup.findStatic(resourceListClassType, "contentCacheHits", MethodType.methodType(long.class));
+                    MethodHandle misses = lookup.findStatic(resourceListClassType, "contentCacheMisses", MethodType.methodType(long.class));
+                    MethodHandle evictions = lookup.findStatic(resourceListClassType, "contentCacheEvictions", MethodType.methodType(long.class));
+
+                    // Larger than a 16th of the cache size, but still cached
+                    assertEquals(Optional.of("x".repeat(1000)), readBytes(relative, "large.txt", lookup));
+                    assertEquals(Optional.of("x".repeat(1000)), readBytes(relative, "large.txt", lookup));
+                    assertEquals(1L, (long) assertDoesNotThrow(() -> hits.invoke()));
+                    assertEquals(1L, (long) assertDoesNotThrow(() -> misses.invoke()));
+
+                    // 4 more resources fit
+                    for (String r : resources.subList(0, 4)) {
+                        assertEquals(Optional.of(r.repeat(10)), readBytes(relative, r, lookup));
+                    }
+                    assertEquals(0L, (long) assertDoesNotThrow(() -> evictions.invoke()));
+
+                    // The next one doesn't
+                    assertEquals(Optional.of(resources.get(4).repeat(10)), readBytes(relative, resources.get(4), lookup));
+                    assertNotEquals(0L, (long) assertDoesNotThrow(() -> evictions.invoke()));
+                }
+            }
+
+            @CartesianTest
+            void testExtractResources(@CartesianTest.Values(booleans = { true, false }) boolean cacheResources)
+                    throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                List<String> resources = IntStream.range(0, 100)
+                        .mapToObj(i -> String.format("dir%d/file-%02d.txt", i % 3, i))
+                        .sorted()
+                        .collect(Collectors.toList());
+
+                Path classPath = baseDir.resolve("classes");
+                Files.write(baseDir.resolve("test.resources"), resources);
+                for (String resource : resources) {
+                    Files.createDirectories(classPath.resolve(resource).getParent());
+                    Files.writeString(classPath.resolve(resource), resource);
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheResources = cacheResources;
+                resourceListClass.extractResources = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL(), classPath.toUri().toURL() };
+                ExecutorService executor = Executors.newFixedThreadPool(4);
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle extractTo = lookup.findVirtual(resourceListClassType, "extractTo",
+                            MethodType.methodType(void.class, Path.class, Executor.class));
+                    MethodHandle extractFilteredTo = lookup.findVirtual(resourceListClassType, "extractTo",
+                            MethodType.methodType(void.class, Path.class, Executor.class, Predicate.class));
+
+                    Path target = baseDir.resolve("target");
+
+                    assertDoesNotThrow(() -> extractTo.invoke(relative, target, executor));
+
+                    for (String resource : resources) {
+                        assertEquals(resource, Files.readString(target.resolve(resource)));
+                    }
+
+                    // Unchanged files are not rewritten, changed files are
+                    Path unchangedFile = target.resolve(resources.get(0));
+                    FileTime lastModified = FileTime.fromMillis(0);
+                    Files.setLastModifiedTime(unchangedFile, lastModified);
+                    Path changedFile = target.resolve(resources.get(1));
+                    Files.writeString(changedFile, "changed");
+
+                    assertDoesNotThrow(() -> extractTo.invoke(absolute, target, executor));
+
+                    assertEquals(lastModified, Files.getLastModifiedTime(unchangedFile));
+                    assertEquals(resources.get(1), Files.readString(changedFile));
+
+                    Path filteredTarget = baseDir.resolve("filtered");
+                    Predicate<String> filter = resource -> resource.startsWith("/dir1/");
+
+                    assertDoesNotThrow(() -> extractFilteredTo.invoke(absolute, filteredTarget, executor, filter));
+
+                    try (Stream<Path> files = Files.walk(filteredTarget)) {
+                        List<String> extracted = files
+                                .filter(Files::isRegularFile)
+                                .map(file -> filteredTarget.relativize(file).toString().replace(File.separatorChar, '/'))
+                                .sorted()
+                                .collect(Collectors.toList());
+                        List<String> expected = resources.stream()
+                                .filter(resource -> resource.startsWith("dir1/"))
+                                .collect(Collectors.toList());
+                        assertEquals(expected, extracted);
+                    }
+
+                    // A directory cannot be created where a file exists
+                    Path invalidTarget = target.resolve(resources.get(0));
+                    assertThrows(IOException.class, () -> extractTo.invoke(relative, invalidTarget, executor));
+                } finally {
+                    executor.shutdown();
+                }
+            }
+
+            @CartesianTest
+            void testExtractChangedResources(@CartesianTest.Values(booleans = { true, false }) boolean cacheContent)
+                    throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                // Larger than the buffers that are used for comparing
+                byte[] content = new byte[20_000];
+                for (int i = 0; i < content.length; i++) {
+                    content[i] = (byte) i;
+                }
+                byte[] changedAtEnd = content.clone();
+                changedAtEnd[changedAtEnd.length - 1]++;
+                byte[] longer = Arrays.copyOf(content, content.length + 10);
+                byte[] shorter = Arrays.copyOf(content, content.length - 10_000);
+
+                Map<String, byte[]> existingContent = new TreeMap<>();
+                existingContent.put("changed-at-end.bin", changedAtEnd);
+                existingContent.put("longer.bin", longer);
+                existingContent.put("shorter.bin", shorter);
+                existingContent.put("unchanged.bin", content);
+
+                List<String> resources = new ArrayList<>(existingContent.keySet());
+
+                Path classPath = baseDir.resolve("classes");
+                Files.write(baseDir.resolve("test.resources"), resources);
+                Files.createDirectories(classPath);
+                for (String resource : resources) {
+                    Files.write(classPath.resolve(resource), content);
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheContent = cacheContent;
+                resourceListClass.extractResources = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                Path target = baseDir.resolve("target");
+                Files.createDirectories(target);
+                FileTime lastModified = FileTime.fromMillis(0);
+                for (Map.Entry<String, byte[]> entry : existingContent.entrySet()) {
+                    Path file = target.resolve(entry.getKey());
+                    Files.write(file, entry.getValue());
+                    Files.setLastModifiedTime(file, lastModified);
+                }
+
+                URL[] urls = { baseDir.toUri().toURL(), classPath.toUri().toURL() };
+                ExecutorService executor = Executors.newFixedThreadPool(4);
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle extractTo = lookup.findVirtual(resourceListClassType, "extractTo",
+                            MethodType.methodType(void.class, Path.class, Executor.class));
+
+                    assertDoesNotThrow(() -> extractTo.invoke(relative, target, executor));
+
+                    for (String resource : resources) {
+                        assertArrayEquals(content, Files.readAllBytes(target.resolve(resource)), resource);
+                    }
+                    assertEquals(lastModified, Files.getLastModifiedTime(target.resolve("unchanged.bin")));
+                    assertNotEquals(lastModified, Files.getLastModifiedTime(target.resolve("changed-at-end.bin")));
+
+                    // No temporary files are left behind
+                    try (Stream<Path> files = Files.list(target)) {
+                        List<String> extracted = files
+                                .map(file -> file.getFileName().toString())
+                                .sorted()
+                                .collect(Collectors.toList());
+                        assertEquals(resources, extracted);
+                    }
+                } finally {
+                    executor.shutdown();
+                }
+            }
+
+            @CartesianTest
+            @SuppressWarnings("unchecked")
+            void testBulkLoadResources(@CartesianTest.Values(booleans = { true, false }) boolean cacheResources)
+                    throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                List<String> resources = IntStream.range(0, 100)
+                        .mapToObj(i -> String.format("dir%d/file-%02d.txt", i % 3, i))
+                        .sorted()
+                        .collect(Collectors.toList());
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                for (String resource : resources) {
+                    Files.createDirectories(baseDir.resolve(resource).getParent());
+                    Files.writeString(baseDir.resolve(resource), resource);
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheResources = cacheResources;
+                resourceListClass.bulkLoadResources = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle readAll = lookup.findVirtual(resourceListClassType, "readAll",
+                            MethodType.methodType(CompletableFuture.class, Predicate.class));
+                    MethodHandle readAllWithConcurrency = lookup.findVirtual(resourceListClassType, "readAll",
+                            MethodType.methodType(CompletableFuture.class, Predicate.class, int.class));
+                    MethodHandle readAllWithAction = lookup.findVirtual(resourceListClassType, "readAll",
+                            MethodType.methodType(void.class, Predicate.class, int.class, BiConsumer.class));
+
+                    Predicate<String> all = resource -> true;
+                    Map<String, byte[]> contents = ((CompletableFuture<Map<String, byte[]>>) assertDoesNotThrow(
+                            () -> readAll.invoke(relative, all))).join();
+
+                    assertEquals(resources, new ArrayList<>(contents.keySet()));
+                    contents.forEach((resource, content) -> assertEquals(resource, new String(content, StandardCharsets.UTF_8)));
+
+                    Predicate<String> dir1 = resource -> resource.startsWith("/dir1/");
+                    List<String> expected = resources.stream()
+                            .filter(resource -> resource.startsWith("dir1/"))
+                            .map(resource -> "/" + resource)
+                            .collect(Collectors.toList());
+
+                    for (int concurrency : new int[] { 1, 4, 1000 }) {
+                        contents = ((CompletableFuture<Map<String, byte[]>>) assertDoesNotThrow(
+                                () -> readAllWithConcurrency.invoke(absolute, dir1, concurrency))).join();
+
+                        assertEquals(expected, new ArrayList<>(contents.keySet()));
+
+                        List<String> actual = new ArrayList<>();
+                        BiConsumer<String, byte[]> action = (resource, content) -> {
+                            assertEquals(resource, "/" + new String(content, StandardCharsets.UTF_8));
+                            actual.add(resource);
+                        };
+                        assertDoesNotThrow(() -> readAllWithAction.invoke(absolute, dir1, concurrency, action));
+
+                        assertEquals(expected, actual);
+                    }
+
+                    assertThrows(IllegalArgumentException.class, () -> readAllWithConcurrency.invoke(relative, all, 0));
+                }
+            }
+
+            @CartesianTest
+            void testDirectResourceAccess(@CartesianTest.Values(booleans = { true, false }) boolean packaged)
+                    throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                List<String> resources = List.of("dir/file.txt", "direct.txt");
+
+                Path classPath = baseDir.resolve("classes");
+                Files.createDirectories(classPath.resolve("dir"));
+                Files.write(classPath.resolve("test.resources"), resources);
+                for (String resource : resources) {
+                    Files.writeString(classPath.resolve(resource), resource);
+                }
+
+                // A directory that comes earlier in the class path, with a resource with the same name
+                Path otherClassPath = baseDir.resolve("other");
+                Files.createDirectories(otherClassPath);
+                Files.writeString(otherClassPath.resolve("direct.txt"), "other");
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = classPath;
+                resourceListClass.indexResources = true;
+                resourceListClass.directResourceAccess = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode(classPath);
+
+                Path location = classPath;
+                if (packaged) {
+                    location = baseDir.resolve("classes.jar");
+                    createJar(classPath, location);
+                }
+
+                URL[] urls = { otherClassPath.toUri().toURL(), location.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    assertEquals("other", new String(classLoader.getResourceAsStream("direct.txt").readAllBytes(), StandardCharsets.UTF_8));
+
+                    assertEquals(Optional.of("direct.txt"), readStream(relative, "direct.txt", lookup));
+                    assertEquals(Optional.of("dir/file.txt"), readStream(absolute, "/dir/file.txt", lookup));
+                    assertEquals(Optional.empty(), readStream(relative, "dir", lookup));
+                    assertEquals(Optional.empty(), readStream(relative, "missing.txt", lookup));
+                }
+            }
+
+            @Test
+            void testDirectResourceAccessOutsideDirectory() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                List<String> resources = List.of("dir/file.txt");
+
+                Path classPath = baseDir.resolve("classes");
+                Files.createDirectories(classPath.resolve("dir"));
+                Files.write(classPath.resolve("test.resources"), resources);
+                Files.writeString(classPath.resolve("dir/file.txt"), "dir/file.txt");
+
+                // A file next to the class path directory, that should not be accessible as resource
+                Path secret = baseDir.resolve("secret.txt");
+                Files.writeString(secret, "secret");
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = classPath;
+                // Not indexed, so resources that are not listed are still looked up
+                resourceListClass.cacheContent = true;
+                resourceListClass.directResourceAccess = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode(classPath);
+
+                URL[] urls = { classPath.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    assertEquals(Optional.of("dir/file.txt"), readBytes(relative, "dir/file.txt", lookup));
+
+                    assertEquals(Optional.empty(), readBytes(relative, "/etc/hostname", lookup));
+                    assertEquals(Optional.empty(), readBytes(relative, "../../../../../../etc/hostname", lookup));
+                    assertEquals(Optional.empty(), readBytes(relative, secret.toAbsolutePath().toString(), lookup));
+                    assertEquals(Optional.empty(), readBytes(relative, "../secret.txt", lookup));
+                    assertEquals(Optional.empty(), readBytes(relative, "dir/../../secret.txt", lookup));
+                    assertEquals(Optional.empty(), readBytes(relative, "dir\\..\\..\\secret.txt", lookup));
+                    assertEquals(Optional.empty(), readBytes(absolute, "/../secret.txt", lookup));
+                    assertEquals(Optional.empty(), readStream(relative, "../secret.txt", lookup));
+                }
+            }
+
+            @CartesianTest
+            void testFileSystem(@CartesianTest.Values(booleans = { true, false }) boolean cacheContent)
+                    throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                List<String> resources = List.of("a.txt", "dir-e.txt", "dir/b.txt", "dir/sub/c.txt", "dir/sub/d.json");
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                for (String resource : resources) {
+                    Files.createDirectories(baseDir.resolve(resource).getParent());
+                    Files.writeString(baseDir.resolve(resource), resource);
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheContent = cacheContent;
+                resourceListClass.fileSystem = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                Map<String, Long> resourceSizes = new TreeMap<>();
+                for (String resource : resources) {
+                    resourceSizes.put(resource, (long) resource.length());
+                }
+
+                generator.generateClassFile(resourceListClass, resources, resourceSizes, List.of(), resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    MethodHandle fileSystemMethod = lookup.findStatic(resourceListClassType, "fileSystem", MethodType.methodType(FileSystem.class));
+                    FileSystem fileSystem = (FileSystem) assertDoesNotThrow(() -> fileSystemMethod.invoke());
+
+                    assertTrue(fileSystem.isReadOnly());
+
+                    Path root = fileSystem.getPath("/");
+
+                    // Sizes are embedded, so getting them doesn't read the content
+                    try (Stream<Path> paths = Files.walk(root)) {
+                        long totalSize = paths
+                                .filter(Files::isRegularFile)
+                                .mapToLong(path -> assertDoesNotThrow(() -> Files.size(path)))
+                                .sum();
+                        assertEquals(resources.stream().mapToLong(String::length).sum(), totalSize);
+                    }
+                    if (cacheContent) {
+                        MethodHandle misses = lookup.findStatic(resourceListClassType, "contentCacheMisses", MethodType.methodType(long.class));
+                        assertEquals(0L, (long) assertDoesNotThrow(() -> misses.invoke()));
+                    }
+
+                    try (Stream<Path> paths = Files.walk(root)) {
+                        List<String> files = paths
+                                .filter(Files::isRegularFile)
+                                .map(Path::toString)
+                                .sorted()
+                                .collect(Collectors.toList());
+                        assertEquals(List.of("/a.txt", "/dir-e.txt", "/dir/b.txt", "/dir/sub/c.txt", "/dir/sub/d.json"), files);
+                    }
+                    try (Stream<Path> paths = Files.walk(fileSystem.getPath("dir"))) {
+                        List<String> directories = paths
+                                .filter(Files::isDirectory)
+                                .map(Path::toString)
+                                .collect(Collectors.toList());
+                        assertEquals(List.of("dir", "dir/sub"), directories);
+                    }
+                    try (DirectoryStream<Path> stream = Files.newDirectoryStream(fileSystem.getPath("/dir/sub"), "*.json")) {
+                        List<Path> paths = new ArrayList<>();
+                        stream.forEach(paths::add);
+                        assertEquals(List.of(fileSystem.getPath("/dir/sub/d.json")), paths);
+                    }
+
+                    Path file = fileSystem.getPath("/dir/sub/../b.txt");
+
+                    assertEquals("dir/b.txt", Files.readString(file));
+                    assertEquals("dir/b.txt".length(), Files.size(file));
+                    assertTrue(Files.isRegularFile(file));
+                    assertTrue(Files.isDirectory(fileSystem.getPath("dir/sub")));
+                    assertFalse(Files.exists(fileSystem.getPath("dir/b")));
+                    assertFalse(Files.exists(fileSystem.getPath("/missing.txt")));
+
+                    assertEquals(fileSystem.getPath("/dir/b.txt"), file.normalize());
+                    assertEquals(fileSystem.getPath("sub/c.txt"), fileSystem.getPath("/dir").relativize(fileSystem.getPath("/dir/sub/c.txt")));
+                    assertEquals(file.normalize(), fileSystem.provider().getPath(file.toUri()));
+
+                    Path missingFile = fileSystem.getPath("/missing.txt");
+                    assertThrows(NoSuchFileException.class, () -> Files.readAllBytes(missingFile));
+                    Path directory = fileSystem.getPath("/dir");
+                    assertThrows(NoSuchFileException.class, () -> Files.readAllBytes(directory));
+                    Path regularFile = fileSystem.getPath("/a.txt");
+                    assertThrows(NotDirectoryException.class, () -> Files.newDirectoryStream(regularFile));
+                    assertThrows(ReadOnlyFileSystemException.class, () -> Files.writeString(regularFile, "new"));
+                    assertThrows(ReadOnlyFileSystemException.class, () -> Files.delete(regularFile));
+                }
+            }
+
+            @Test
+            void testFileSystemWithMissingResourceSize() {
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.fileSystem = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                List<String> resources = List.of("a.txt", "b.txt");
+                Map<String, Long> resourceSizes = Map.of("a.txt", 1L);
+
+                IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                        () -> generator.generateClassFile(resourceListClass, resources, resourceSizes, List.of(), resourceListResource, null));
+                assertEquals(Messages.ResourceListClassGenerator.missingResourceSize("b.txt"), exception.getMessage());
+            }
+
+            @CartesianTest
+            void testPreloadResources(@CartesianTest.Values(booleans = { true, false }) boolean useResourcePack)
+                    throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                List<String> resources = IntStream.range(0, 100)
+                        .mapToObj(i -> String.format("dir%d/file-%02d.txt", i % 3, i))
+                        .sorted()
+                        .collect(Collectors.toList());
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                for (String resource : resources) {
+                    Files.createDirectories(baseDir.resolve(resource).getParent());
+                    Files.writeString(baseDir.resolve(resource), resource);
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.preloadResources = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                Resource resourcePackResource = null;
+                if (useResourcePack) {
+                    ResourcePackWriter packWriter = new ResourcePackWriter(mock(Log.class));
+                    packWriter.write(baseDir, resources, baseDir.resolve("test.pack"));
+
+                    resourcePackResource = new Resource();
+                    resourcePackResource.addInclude("test.pack");
+                    resourcePackResource.setTargetPath("");
+                }
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, resourcePackResource);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+                    Class<?> preloadType = Class.forName("test.ResourceList$Preload", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle preload = lookup.findVirtual(resourceListClassType, "preload",
+                            MethodType.methodType(preloadType, Predicate.class));
+                    MethodHandle preloadWithExecutor = lookup.findVirtual(resourceListClassType, "preload",
+                            MethodType.methodType(preloadType, Predicate.class, Executor.class));
+
+                    MethodHandle total = lookup.findVirtual(preloadType, "total", MethodType.methodType(int.class));
+                    MethodHandle loaded = lookup.findVirtual(preloadType, "loaded", MethodType.methodType(int.class));
+                    MethodHandle progress = lookup.findVirtual(preloadType, "progress", MethodType.methodType(double.class));
+                    MethodHandle isDone = lookup.findVirtual(preloadType, "isDone", MethodType.methodType(boolean.class));
+                    MethodHandle completion = lookup.findVirtual(preloadType, "completion", MethodType.methodType(CompletableFuture.class));
+                    MethodHandle cancel = lookup.findVirtual(preloadType, "cancel", MethodType.methodType(boolean.class));
+
+                    Predicate<String> dir1 = resource -> resource.startsWith("/dir1/");
+                    int expectedTotal = (int) resources.stream()
+                            .filter(resource -> resource.startsWith("dir1/"))
+                            .count();
+
+                    Object handle = assertDoesNotThrow(() -> preload.invoke(absolute, dir1));
+                    ((CompletableFuture<?>) assertDoesNotThrow(() -> completion.invoke(handle))).join();
+
+                    assertEquals(expectedTotal, (int) assertDoesNotThrow(() -> total.invoke(handle)));
+                    assertEquals(expectedTotal, (int) assertDoesNotThrow(() -> loaded.invoke(handle)));
+                    assertEquals(1.0, (double) assertDoesNotThrow(() -> progress.invoke(handle)));
+                    assertTrue((boolean) assertDoesNotThrow(() -> isDone.invoke(handle)));
+                    // Preloading that has completed cannot be cancelled
+                    assertFalse((boolean) assertDoesNotThrow(() -> cancel.invoke(handle)));
+
+                    if (!useResourcePack) {
+                        // The content of preloaded resources is cached
+                        MethodHandle hits = lookup.findStatic(resourceListClassType, "contentCacheHits", MethodType.methodType(long.class));
+                        MethodHandle misses = lookup.findStatic(resourceListClassType, "contentCacheMisses", MethodType.methodType(long.class));
+
+                        assertEquals(0L, (long) assertDoesNotThrow(() -> hits.invoke()));
+                        assertEquals(expectedTotal, (long) assertDoesNotThrow(() -> misses.invoke()));
+
+                        String resource = resources.stream()
+                                .filter(r -> r.startsWith("dir1/"))
+                                .findFirst()
+                                .orElseThrow();
+                        assertEquals(Optional.of(resource), readBytes(relative, resource, lookup));
+                        assertEquals(1L, (long) assertDoesNotThrow(() -> hits.invoke()));
+                        assertEquals(expectedTotal, (long) assertDoesNotThrow(() -> misses.invoke()));
+                    }
+
+                    // Preloading using a given executor
+                    Predicate<String> all = resource -> true;
+                    Executor directExecutor = Runnable::run;
+                    Object directHandle = assertDoesNotThrow(() -> preloadWithExecutor.invoke(relative, all, directExecutor));
+
+                    assertTrue((boolean) assertDoesNotThrow(() -> isDone.invoke(directHandle)));
+                    assertEquals(resources.size(), (int) assertDoesNotThrow(() -> loaded.invoke(directHandle)));
+
+                    // Cancelled preloading does not load anything anymore
+                    List<Runnable> tasks = new ArrayList<>();
+                    Object cancelledHandle = assertDoesNotThrow(() -> preloadWithExecutor.invoke(relative, all, (Executor) tasks::add));
+
+                    assertFalse((boolean) assertDoesNotThrow(() -> isDone.invoke(cancelledHandle)));
+                    assertEquals(0.0, (double) assertDoesNotThrow(() -> progress.invoke(cancelledHandle)));
+                    assertTrue((boolean) assertDoesNotThrow(() -> cancel.invoke(cancelledHandle)));
+                    assertTrue((boolean) assertDoesNotThrow(() -> isDone.invoke(cancelledHandle)));
+
+                    tasks.forEach(Runnable::run);
+
+                    assertEquals(0, (int) assertDoesNotThrow(() -> loaded.invoke(cancelledHandle)));
+                    CompletableFuture<?> cancelledCompletion = (CompletableFuture<?>) assertDoesNotThrow(() -> completion.invoke(cancelledHandle));
+                    assertTrue(cancelledCompletion.isCompletedExceptionally());
+
+                    // Nothing to preload
+                    Predicate<String> none = resource -> false;
+                    Object emptyHandle = assertDoesNotThrow(() -> preload.invoke(relative, none));
+                    ((CompletableFuture<?>) assertDoesNotThrow(() -> completion.invoke(emptyHandle))).join();
+
+                    assertEquals(0, (int) assertDoesNotThrow(() -> total.invoke(emptyHandle)));
+                    assertEquals(1.0, (double) assertDoesNotThrow(() -> progress.invoke(emptyHandle)));
+                }
+            }
+
+            @Test
+            void testPreloadResourcesLargerThanContentCache() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                List<String> resources = IntStream.range(0, 10)
+                        .mapToObj(i -> String.format("dir/file-%02d.txt", i))
+                        .collect(Collectors.toList());
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                Files.createDirectories(baseDir.resolve("dir"));
+                for (String resource : resources) {
+                    // 150 bytes each
+                    Files.writeString(baseDir.resolve(resource), resource.repeat(10));
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.preloadResources = true;
+                // Enough for 4 resources
+                resourceListClass.contentCacheSize = 600;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+                    Class<?> preloadType = Class.forName("test.ResourceList$Preload", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle preload = lookup.findVirtual(resourceListClassType, "preload",
+                            MethodType.methodType(preloadType, Predicate.class, Executor.class));
+
+                    MethodHandle total = lookup.findVirtual(preloadType, "total", MethodType.methodType(int.class));
+                    MethodHandle loaded = lookup.findVirtual(preloadType, "loaded", MethodType.methodType(int.class));
+                    MethodHandle progress = lookup.findVirtual(preloadType, "progress", MethodType.methodType(double.class));
+                    MethodHandle isDone = lookup.findVirtual(preloadType, "isDone", MethodType.methodType(boolean.class));
+
+                    MethodHandle hits = lookup.findStatic(resourceListClassType, "contentCacheHits", MethodType.methodType(long.class));
+
+                    Predicate<String> all = resource -> true;
+                    Executor directExecutor = Runnable::run;
+                    Object handle = assertDoesNotThrow(() -> preload.invoke(relative, all, directExecutor));
+
+                    // Only the resources that fit in the cache are reported as loaded
+                    assertTrue((boolean) assertDoesNotThrow(() -> isDone.invoke(handle)));
+                    assertEquals(10, (int) assertDoesNotThrow(() -> total.invoke(handle)));
+                    assertEquals(4, (int) assertDoesNotThrow(() -> loaded.invoke(handle)));
+                    assertEquals(0.4, (double) assertDoesNotThrow(() -> progress.invoke(handle)));
+
+                    // Reading other resources does not evict preloaded content
+                    for (String resource : resources.subList(4, 10)) {
+                        assertEquals(Optional.of(resource.repeat(10)), readBytes(relative, resource, lookup));
+                    }
+                    long hitsBefore = (long) assertDoesNotThrow(() -> hits.invoke());
+                    for (String resource : resources.subList(0, 4)) {
+                        assertEquals(Optional.of(resource.repeat(10)), readBytes(relative, resource, lookup));
+                    }
+                    assertEquals(hitsBefore + 4, (long) assertDoesNotThrow(() -> hits.invoke()));
+
+                    // Preloading the same resources again does not need any more room
+                    Object again = assertDoesNotThrow(() -> preload.invoke(relative, all, directExecutor));
+                    assertEquals(4, (int) assertDoesNotThrow(() -> loaded.invoke(again)));
+                }
+            }
+
+            @Test
+            void testHotResources() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                List<String> resources = List.of("a.txt", "dir/b.txt", "dir/c.txt", "d.txt");
+                List<String> hotResources = List.of("dir/c.txt", "a.txt");
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                for (String resource : resources) {
+                    Files.createDirectories(baseDir.resolve(resource).getParent());
+                    Files.writeString(baseDir.resolve(resource), resource);
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.preloadResources = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, Map.of(), hotResources, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+                    Class<?> preloadType = Class.forName("test.ResourceList$Preload", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle hotResourcesMethod = lookup.findVirtual(resourceListClassType, "hotResources", MethodType.methodType(List.class));
+
+                    assertEquals(hotResources, assertDoesNotThrow(() -> hotResourcesMethod.invoke(relative)));
+                    assertEquals(List.of("/dir/c.txt", "/a.txt"), assertDoesNotThrow(() -> hotResourcesMethod.invoke(absolute)));
+
+                    // Hot resources are preloaded first
+                    MethodHandle preload = lookup.findVirtual(resourceListClassType, "preload",
+                            MethodType.methodType(preloadType, Predicate.class, Executor.class));
+
+                    MethodHandles.Lookup preloadLookup = MethodHandles.privateLookupIn(preloadType, MethodHandles.lookup());
+                    MethodHandle preloadedResources = preloadLookup.findGetter(preloadType, "resources", List.class);
+
+                    Predicate<String> filter = resource -> !"/d.txt".equals(resource);
+                    List<Runnable> tasks = new ArrayList<>();
+                    Object handle = assertDoesNotThrow(() -> preload.invoke(absolute, filter, (Executor) tasks::add));
+
+                    assertEquals(List.of("dir/c.txt", "a.txt", "dir/b.txt"), assertDoesNotThrow(() -> preloadedResources.invoke(handle)));
+                }
+            }
+
+            @Test
+            void testRecordProfile() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                List<String> resources = List.of("a.txt", "dir/b.txt", "dir/c.txt");
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                for (String resource : resources) {
+                    Files.createDirectories(baseDir.resolve(resource).getParent());
+                    Files.writeString(baseDir.resolve(resource), resource);
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheContent = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                // The profile is also written when the JVM shuts down, so don't use the temporary directory that will have been deleted by then
+                Path profileFile = Paths.get("target/resource-profile.txt").toAbsolutePath();
+                Files.deleteIfExists(profileFile);
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                System.setProperty("test.ResourceList.recordProfile", profileFile.toString());
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+                    Class<?> profileRecorderType = Class.forName("test.ResourceList$ProfileRecorder", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    assertEquals(Optional.of("dir/c.txt"), readStream(absolute, "/dir/c.txt", lookup));
+                    assertEquals(Optional.of("a.txt"), readBytes(relative, "a.txt", lookup));
+                    assertEquals(Optional.of("dir/c.txt"), readBytes(relative, "dir/c.txt", lookup));
+
+                    // Write the profile without waiting for the JVM to shut down
+                    MethodHandles.Lookup recorderLookup = MethodHandles.privateLookupIn(profileRecorderType, MethodHandles.lookup());
+                    MethodHandle instance = recorderLookup.findStaticGetter(profileRecorderType, "INSTANCE", profileRecorderType);
+                    MethodHandle write = recorderLookup.findVirtual(profileRecorderType, "write", MethodType.methodType(void.class));
+                    Object recorder = assertDoesNotThrow(() -> instance.invoke());
+                    assertDoesNotThrow(() -> write.invoke(recorder));
+
+                    assertEquals(List.of("dir/c.txt", "a.txt"), Files.readAllLines(profileFile));
+                } finally {
+                    System.clearProperty("test.ResourceList.recordProfile");
+                }
+
+                // Without the system property, nothing is recorded
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class.forName("test.ResourceList", true, classLoader);
+                    Class<?> profileRecorderType = Class.forName("test.ResourceList$ProfileRecorder", true, classLoader);
+
+                    MethodHandles.Lookup recorderLookup = MethodHandles.privateLookupIn(profileRecorderType, MethodHandles.lookup());
+                    MethodHandle instance = recorderLookup.findStaticGetter(profileRecorderType, "INSTANCE", profileRecorderType);
+
+                    assertNull(assertDoesNotThrow(() -> instance.invoke()));
+                }
+            }
+
+            @CartesianTest
+            void testInstrumentResources(@CartesianTest.Values(booleans = { true, false }) boolean cacheResources)
+                    throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                List<String> resources = List.of("a.txt", "dir/b.txt");
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                for (String resource : resources) {
+                    Files.createDirectories(baseDir.resolve(resource).getParent());
+                    Files.writeString(baseDir.resolve(resource), resource);
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheResources = cacheResources;
+                resourceListClass.cacheContent = true;
+                resourceListClass.instrumentResources = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                String generatedCode = Files.readString(baseDir.resolve("test/ResourceList.java"));
+                assertThat(generatedCode, containsString("public interface MetricsMXBean"));
+                assertThat(generatedCode, not(containsString("ManagementFactory")));
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+                    Class<?> listenerType = Class.forName("test.ResourceList$Listener", true, classLoader);
+                    Class<?> metricsType = Class.forName("test.ResourceList$MetricsMXBean", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    List<String> events = new ArrayList<>();
+                    Object listener = Proxy.newProxyInstance(classLoader, new Class<?>[] { listenerType }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "resourceListLoaded":
+                                events.add("loaded " + args[0]);
+                                return null;
+                            case "resourceOpened":
+                                events.add("opened " + args[0]);
+                                return null;
+                            case "contentRead":
+                                events.add("read " + args[0] + " " + args[1]);
+                                return null;
+                            case "equals":
+                                return proxy == args[0];
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+
+                    MethodHandle addListener = lookup.findStatic(resourceListClassType, "addListener",
+                            MethodType.methodType(void.class, listenerType));
+                    MethodHandle removeListener = lookup.findStatic(resourceListClassType, "removeListener",
+                            MethodType.methodType(void.class, listenerType));
+                    assertDoesNotThrow(() -> addListener.invoke(listener));
+
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    assertEquals(resources, assertDoesNotThrow(() -> lookup
+                            .findVirtual(resourceListClassType, "list", MethodType.methodType(List.class))
+                            .invoke(relative)));
+                    assertEquals(Optional.of("a.txt"), readBytes(relative, "a.txt", lookup));
+                    // The second time the content comes from the cache
+                    assertEquals(Optional.of("a.txt"), readBytes(relative, "a.txt", lookup));
+                    assertEquals(Optional.empty(), readBytes(relative, "missing.txt", lookup));
+
+                    assertEquals(List.of("loaded 2", "opened a.txt", "read a.txt 5", "opened a.txt", "opened missing.txt"), events);
+
+                    Object metrics = invokeFactoryMethod(resourceListClassType, "metrics", lookup, metricsType);
+                    assertEquals(1L, getMetric(metricsType, "getResourceListLoads", metrics, lookup));
+                    assertEquals(3L, getMetric(metricsType, "getResourcesOpened", metrics, lookup));
+                    assertEquals(1L, getMetric(metricsType, "getContentReads", metrics, lookup));
+                    assertEquals(5L, getMetric(metricsType, "getBytesRead", metrics, lookup));
+
+                    assertDoesNotThrow(() -> removeListener.invoke(listener));
+
+                    assertEquals(Optional.of("dir/b.txt"), readBytes(relative, "dir/b.txt", lookup));
+
+                    assertEquals(5, events.size());
+                    assertEquals(4L, getMetric(metricsType, "getResourcesOpened", metrics, lookup));
+                    assertEquals(14L, getMetric(metricsType, "getBytesRead", metrics, lookup));
+                }
+
+                // Disabled using the system property, nothing is counted
+                System.setProperty("test.ResourceList.instrumentation", "false");
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+                    Class<?> metricsType = Class.forName("test.ResourceList$MetricsMXBean", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    assertEquals(Optional.of("a.txt"), readBytes(relative, "a.txt", lookup));
+
+                    Object metrics = invokeFactoryMethod(resourceListClassType, "metrics", lookup, metricsType);
+                    assertEquals(0L, getMetric(metricsType, "getResourceListLoads", metrics, lookup));
+                    assertEquals(0L, getMetric(metricsType, "getResourcesOpened", metrics, lookup));
+                    assertEquals(0L, getMetric(metricsType, "getBytesRead", metrics, lookup));
+                } finally {
+                    System.clearProperty("test.ResourceList.instrumentation");
+                }
+            }
+
+            @Test
+            void testRegisterMBean() throws MojoExecutionException, IOException, ReflectiveOperationException, JMException {
+                List<String> resources = List.of("a.txt");
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                Files.writeString(baseDir.resolve("a.txt"), "a.txt");
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.cacheContent = true;
+                resourceListClass.registerMBean = true;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName("test:type=ResourceList");
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+                    Class<?> metricsType = Class.forName("test.ResourceList$MetricsMXBean", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+                    // The MBean is registered when the metrics are first needed
+                    invokeFactoryMethod(resourceListClassType, "metrics", lookup, metricsType);
+
+                    assertTrue(server.isRegistered(name));
+                    assertEquals(0L, server.getAttribute(name, "ResourcesOpened"));
+
+                    assertEquals(Optional.of("a.txt"), readBytes(relative, "a.txt", lookup));
+
+                    assertEquals(1L, server.getAttribute(name, "ResourcesOpened"));
+                    assertEquals(5L, server.getAttribute(name, "BytesRead"));
+                } finally {
+                    if (server.isRegistered(name)) {
+                        server.unregisterMBean(name);
+                    }
+                }
+            }
+
+            @CartesianTest
+            void testIndexResources(
+                    @CartesianTest.Values(booleans = { true, false }) boolean embedResources,
+                    @CartesianTest.Values(ints = { 0, 1, 5000 }) int count)
+                            throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                List<String> resources = IntStream.range(0, count)
+                        .mapToObj(i -> String.format("dir%d/file-%04d.txt", i % 7, i))
+                        .sorted()
+                        .collect(Collectors.toList());
+
+                Files.write(baseDir.resolve("test.resources"), resources);
+                if (count > 0) {
+                    Files.createDirectories(baseDir.resolve("dir0"));
+                    Files.writeString(baseDir.resolve("dir0/file-0000.txt"), "foo");
+                }
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.indexResources = true;
+                resourceListClass.embedResources = embedResources;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, resources, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    MethodHandle contains = lookup.findVirtual(resourceListClassType, "contains",
+                            MethodType.methodType(boolean.class, String.class));
+
+                    for (String resource : resources) {
+                        assertTrue((boolean) assertDoesNotThrow(() -> contains.invoke(relative, resource)));
+                        assertTrue((boolean) assertDoesNotThrow(() -> contains.invoke(absolute, "/" + resource)));
+                        assertFalse((boolean) assertDoesNotThrow(() -> contains.invoke(relative, "/" + resource)));
+                        assertFalse((boolean) assertDoesNotThrow(() -> contains.invoke(absolute, resource)));
+                    }
+                    assertFalse((boolean) assertDoesNotThrow(() -> contains.invoke(relative, "dir0")));
+                    assertFalse((boolean) assertDoesNotThrow(() -> contains.invoke(relative, "test.resources")));
+                    assertThrows(NullPointerException.class, () -> contains.invoke(relative, null));
+
+                    if (count > 0) {
+                        assertEquals(Optional.of("foo"), readStream(absolute, "/dir0/file-0000.txt", lookup));
+                        assertEquals(Optional.of("foo"), readStream(relative, "dir0/file-0000.txt", lookup));
+                    }
+                    // Not listed, so not opened even though it exists
+                    assertEquals(Optional.empty(), readStream(relative, "test.resources", lookup));
+                    assertEquals(Optional.empty(), readStream(absolute, "/test.resources", lookup));
+                    // Listed but missing
+                    if (count > 1) {
+                        assertEquals(Optional.empty(), readStream(relative, resources.get(1), lookup));
+                    }
+                }
+            }
+
+            @CartesianTest
+            void testEmbedResources(
+                    @CartesianTest.Values(booleans = { true, false }) boolean publicVisibility,
+                    @CartesianTest.Values(ints = { 0, 3, 10_000 }) int count)
+                            throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                // Use characters that need escaping, and enough resources to need multiple constants
+                List<String> expectedRelative = IntStream.range(0, count)
+                        .mapToObj(i -> String.format("dir \"%d\"/\\f\u00f6\u00f6\u20ac\ud83d\ude00-%05d.txt", i % 10, i))
+                        .collect(Collectors.toList());
+                List<String> expectedAbsolute = expectedRelative.stream()
+                        .map(resource -> "/" + resource)
+                        .collect(Collectors.toList());
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.publicVisibility = publicVisibility;
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.embedResources = true;
+                resourceListClass.maxEmbeddedSize = Long.MAX_VALUE;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                assertTrue(generator.embedsResources(resourceListClass, expectedRelative));
+
+                generator.generateClassFile(resourceListClass, expectedRelative, resourceListResource, null);
+
+                compileCode();
+
+                // The resource list file does not exist, so the resources can only come from the class itself
+                assertFalse(Files.exists(baseDir.resolve("test.resources")));
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    assertResources(expectedAbsolute, absolute, lookup);
+                    assertResources(expectedRelative, relative, lookup);
+                }
+            }
+
+            @Test
+            void testEmbedResourcesFillingConstants() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                // ASCII only resources fill each constant up to its maximum length
+                List<String> expectedRelative = IntStream.range(0, 10_000)
+                        .mapToObj(i -> String.format("dir%d/file-%05d.txt", i % 10, i))
+                        .sorted()
+                        .collect(Collectors.toList());
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.embedResources = true;
+                resourceListClass.maxEmbeddedSize = Long.MAX_VALUE;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+                generator.generateClassFile(resourceListClass, expectedRelative, resourceListResource, null);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    assertResources(expectedRelative, relative, lookup);
+                }
+            }
+
+            @Test
+            void testEmbedResourcesExceedingMaxEmbeddedSize() throws MojoExecutionException, IOException, ReflectiveOperationException {
+                Files.writeString(baseDir.resolve("test.resources"), "dir/bar.txt\ndir/foo.txt\nfoo.txt\n");
+
+                List<String> expectedRelative = List.of("dir/bar.txt", "dir/foo.txt", "foo.txt");
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.embedResources = true;
+                // One byte short
+                resourceListClass.maxEmbeddedSize = 31;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath("");
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                assertFalse(generator.embedsResources(resourceListClass, expectedRelative));
+
+                generator.generateClassFile(resourceListClass, expectedRelative, resourceListResource, null);
+
+                String content = Files.readString(baseDir.resolve("test/ResourceList.java"));
+                assertFalse(content.contains("CONSTANTS"));
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    assertResources(expectedRelative, relative, lookup);
+                }
+            }
+
+            @SuppressWarnings("unchecked")
+            private void assertResources(List<String> expected, Object resourceList, MethodHandles.Lookup lookup) {
+                List<String> list = (List<String>) assertDoesNotThrow(() -> lookup
+                        .findVirtual(resourceList.getClass(), "list", MethodType.methodType(List.class))
+                        .invoke(resourceList));
+                assertEquals(expected, list);
+                assertThrows(UnsupportedOperationException.class, () -> list.add("new"));
+
+                Stream<String> stream = (Stream<String>) assertDoesNotThrow(() -> lookup
+                        .findVirtual(resourceList.getClass(), "stream", MethodType.methodType(Stream.class))
+                        .invoke(resourceList));
+                try (stream) {
+                    assertEquals(expected, stream.collect(Collectors.toList()));
+                }
+
+                List<String> collected = new ArrayList<>();
+                Consumer<String> action = collected::add;
+                assertDoesNotThrow(() -> lookup
+                        .findVirtual(resourceList.getClass(), "forEach", MethodType.methodType(void.class, Consumer.class))
+                        .invoke(resourceList, action));
+                assertEquals(expected, collected);
+            }
+
+            @CartesianTest
+            void testResourcePack(
+                    @CartesianTest.Values(booleans = { true, false }) boolean memoryMapResourcePack,
+                    @CartesianTest.Values(strings = { "", "subdir" }) String targetPath)
+                            throws MojoExecutionException, IOException, ReflectiveOperationException {
+
+                Files.createDirectories(baseDir.resolve("dir"));
+                Files.writeString(baseDir.resolve("foo.txt"), "foo");
+                Files.writeString(baseDir.resolve("dir/bar.txt"), "bar");
+                Files.writeString(baseDir.resolve("dir/foo.txt"), "foo");
+
+                Set<String> resources = new TreeSet<>(List.of("dir/bar.txt", "dir/foo.txt", "foo.txt"));
+
+                ResourcePackWriter packWriter = new ResourcePackWriter(mock(Log.class));
+                packWriter.write(baseDir, resources, baseDir.resolve(targetPath).resolve("test.pack"));
+
+                ResourceListClass resourceListClass = new ResourceListClass();
+                resourceListClass.className = "test.ResourceList";
+                resourceListClass.outputDirectory = baseDir;
+                resourceListClass.memoryMapResourcePack = memoryMapResourcePack;
+
+                Resource resourceListResource = new Resource();
+                resourceListResource.addInclude("test.resources");
+                resourceListResource.setTargetPath(targetPath);
+
+                Resource resourcePackResource = new Resource();
+                resourcePackResource.addInclude("test.pack");
+                resourcePackResource.setTargetPath(targetPath);
+
+                ResourceListClassGenerator generator = new ResourceListClassGenerator();
+
+                generator.generateClassFile(resourceListClass, List.of(), resourceListResource, resourcePackResource);
+
+                compileCode();
+
+                URL[] urls = { baseDir.toUri().toURL() };
+                try (URLClassLoader classLoader = new URLClassLoader(urls)) {
+                    Class<?> resourceListClassType = Class.forName("test.ResourceList", true, classLoader);
+
+                    MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(resourceListClassType, MethodHandles.lookup());
+
+                    Object absolute = invokeFactoryMethod(resourceListClassType, "absolute", lookup);
+                    Object relative = invokeFactoryMethod(resourceListClassType, "relative", lookup);
+
+                    assertEquals(Optional.of("foo"), readBytes(absolute, "/foo.txt", lookup));
+                    assertEquals(Optional.of("bar"), readBytes(absolute, "/dir/bar.txt", lookup));
+                    assertEquals(Optional.of("foo"), readBytes(absolute, "/dir/foo.txt", lookup));
+                    assertEquals(Optional.empty(), readBytes(absolute, "foo.txt", lookup));
+                    assertEquals(Optional.empty(), readBytes(absolute, "/missing.txt", lookup));
+
+                    assertEquals(Optional.of("foo"), readStream(relative, "foo.txt", lookup));
+                    assertEquals(Optional.of("bar"), readStream(relative, "dir/bar.txt", lookup));
+                    assertEquals(Optional.of("foo"), readStream(relative, "dir/foo.txt", lookup));
+                    assertEquals(Optional.empty(), readStream(relative, "/foo.txt", lookup));
+                    assertEquals(Optional.empty(), readStream(relative, "missing.txt", lookup));
+                }
+            }
+
+            private Object invokeFactoryMethod(Class<?> resourceListClass, String methodName, MethodHandles.Lookup lookup) {
+                return assertDoesNotThrow(() -> lookup
+                        .findStatic(resourceListClass, methodName, MethodType.methodType(resourceListClass))
+                        .invoke());
+            }
+
+            private Object invokeFactoryMethod(Class<?> resourceListClass, String methodName, MethodHandles.Lookup lookup, Class<?> returnType) {
+                return assertDoesNotThrow(() -> lookup
+                        .findStatic(resourceListClass, methodName, MethodType.methodType(returnType))
+                        .invoke());
+            }
+
+            private Object getMetric(Class<?> metricsType, String methodName, Object metrics, MethodHandles.Lookup lookup) {
+                return assertDoesNotThrow(() -> lookup
+                        .findVirtual(metricsType, methodName, MethodType.methodType(long.class))
+                        .invoke(metrics));
+            }
+
+            private Optional<String> readBytes(Object resourceList, String resource, MethodHandles.Lookup lookup) {
+                Optional<?> result = (Optional<?>) assertDoesNotThrow(() -> lookup
+                        .findVirtual(resourceList.getClass(), "bytes", MethodType.methodType(Optional.class, String.class))
+                        .invoke(resourceList, resource));
+                return result.map(bytes -> new String((byte[]) bytes, StandardCharsets.UTF_8));
+            }
+
+            private Optional<String> readStream(Object resourceList, String resource, MethodHandles.Lookup lookup) {
+                Optional<?> result = (Optional<?>) assertDoesNotThrow(() -> lookup
+                        .findVirtual(resourceList.getClass(), "open", MethodType.methodType(Optional.class, String.class))
+                        .invoke(resourceList, resource));
+                return result.map(inputStream -> {
+                    try (InputStream stream = (InputStream) inputStream) {
+                        return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+
+            private List<?> collect(Object stream) {
+                try (Stream<?> s = (Stream<?>) stream) {
+                    return s.collect(Collectors.toList());
+                }
+            }
+
+            private void compileCode() throws IOException {
+                compileCode(baseDir);
+            }
+
+            private void compileCode(Path outputDirectory) throws IOException {
+                File sourceFile = outputDirectory.resolve("test/ResourceList.java").toFile();
+
+                JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+                try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+
+                    Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjects(sourceFile);
+
+                    CompilationTask compilationTask = compiler.getTask(null, fileManager, null, null, null, compilationUnits);
+
+                    Boolean compiledSuccessfully = compilationTask.call();
+                    assertEquals(Boolean.TRUE, compiledSuccessfully);
+                }
+            }
+
+            private void createJar(Path directory, Path jarFile) throws IOException {
+                try (JarOutputStream outputStream = new JarOutputStream(Files.newOutputStream(jarFile));
+                        Stream<Path> files = Files.walk(directory)) {
+
+                    for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                        outputStream.putNextEntry(new JarEntry(directory.relativize(file).toString().replace(File.separatorChar, '/')));
+                        Files.copy(file, outputStream);
+                        outputStream.closeEntry();
+                    }
                 }
             }
 
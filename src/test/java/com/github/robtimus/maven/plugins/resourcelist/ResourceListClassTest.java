@@ -20,13 +20,18 @@ package com.github.robtimus.maven.plugins.resourcelist;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import java.net.URI;
 import java.nio.file.Paths;
+import java.util.Properties;
 import org.apache.maven.model.Build;
 import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 @SuppressWarnings("nls")
 class ResourceListClassTest {
@@ -38,6 +43,120 @@ class ResourceListClassTest {
         assertFalse(resourceListClass.publicVisibility);
     }
 
+    @Test
+    void testDefaultMemoryMapResourcePack() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.memoryMapResourcePack);
+    }
+
+    @Test
+    void testDefaultCacheResources() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.cacheResources);
+    }
+
+    @Test
+    void testDefaultCompactResources() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.compactResources);
+    }
+
+    @Test
+    void testDefaultIndexResources() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.indexResources);
+    }
+
+    @Test
+    void testDefaultInitializeAtBuildTime() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.initializeAtBuildTime);
+    }
+
+    @Test
+    void testDefaultEmbedResources() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.embedResources);
+        assertEquals(ResourceListClass.DEFAULT_MAX_EMBEDDED_SIZE, resourceListClass.maxEmbeddedSize);
+    }
+
+    @Test
+    void testDefaultCacheContent() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.cacheContent);
+        assertEquals(ResourceListClass.DEFAULT_CONTENT_CACHE_SIZE, resourceListClass.contentCacheSize);
+    }
+
+    @Test
+    void testDefaultExtractResources() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.extractResources);
+    }
+
+    @Test
+    void testDefaultBulkLoadResources() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.bulkLoadResources);
+    }
+
+    @Test
+    void testDefaultDirectResourceAccess() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.directResourceAccess);
+    }
+
+    @Test
+    void testDefaultFileSystem() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.fileSystem);
+    }
+
+    @Test
+    void testDefaultPreloadResources() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.preloadResources);
+    }
+
+    @Test
+    void testDefaultInstrumentResources() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.instrumentResources);
+    }
+
+    @Test
+    void testDefaultRegisterMBean() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.registerMBean);
+    }
+
+    @Test
+    void testDefaultUseRuntimeLibrary() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.useRuntimeLibrary);
+    }
+
+    @Test
+    void testDefaultCompile() {
+        ResourceListClass resourceListClass = new ResourceListClass();
+
+        assertFalse(resourceListClass.compile);
+    }
+
     @Test
     void testSetDefaultOutputDirectory() {
         ResourceListClass resourceListClass = new ResourceListClass();
@@ -55,14 +174,123 @@ class ResourceListClassTest {
         assertEquals(Paths.get("target/classes/generated-sources/resource-lists"), resourceListClass.outputDirectory);
     }
 
+    @Nested
+    class SetDefaultRelease {
+
+        @Test
+        void testFromRelease() {
+            Properties properties = new Properties();
+            properties.setProperty("maven.compiler.release", "17");
+            properties.setProperty("maven.compiler.target", "11");
+
+            assertEquals("17", defaultRelease(properties));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "1.8, 8",
+                "11, 11",
+        })
+        void testFromTarget(String target, String expected) {
+            Properties properties = new Properties();
+            properties.setProperty("maven.compiler.target", target);
+
+            assertEquals(expected, defaultRelease(properties));
+        }
+
+        @Test
+        void testWithoutProperties() {
+            assertNull(defaultRelease(new Properties()));
+        }
+
+        private String defaultRelease(Properties properties) {
+            ResourceListClass resourceListClass = new ResourceListClass();
+
+            MavenProject project = mock(MavenProject.class);
+            when(project.getProperties()).thenReturn(properties);
+
+            resourceListClass.setDefaultRelease(project);
+
+            return resourceListClass.release;
+        }
+    }
+
+    @Nested
+    class RequiresJava11 {
+
+        @Test
+        void testDefault() {
+            ResourceListClass resourceListClass = new ResourceListClass();
+            resourceListClass.className = "test.ResourceList";
+            resourceListClass.publicVisibility = true;
+            resourceListClass.instrumentResources = true;
+            resourceListClass.registerMBean = true;
+            resourceListClass.directResourceAccess = true;
+            resourceListClass.compile = true;
+
+            assertFalse(resourceListClass.requiresJava11());
+        }
+
+        @Test
+        void testWithOptions() {
+            ResourceListClass resourceListClass = new ResourceListClass();
+            resourceListClass.cacheResources = true;
+
+            assertTrue(resourceListClass.requiresJava11());
+
+            resourceListClass = new ResourceListClass();
+            resourceListClass.useRuntimeLibrary = true;
+
+            assertTrue(resourceListClass.requiresJava11());
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "1.8, true",
+                "8, true",
+                "10, true",
+                "11, false",
+                "17, false",
+                ", false",
+                "invalid, false",
+        })
+        void testIsBeforeJava11(String release, boolean expected) {
+            assertEquals(expected, ResourceListClass.isBeforeJava11(release));
+        }
+    }
+
     @Test
     void testToString() {
         ResourceListClass resourceListClass = new ResourceListClass();
         resourceListClass.className = "test.ResourceList";
         resourceListClass.publicVisibility = true;
         resourceListClass.outputDirectory = Paths.get(URI.create("memory:/project/target/generated"));
+        resourceListClass.memoryMapResourcePack = true;
+        resourceListClass.cacheResources = true;
+        resourceListClass.compactResources = true;
+        resourceListClass.indexResources = true;
+        resourceListClass.initializeAtBuildTime = true;
+        resourceListClass.embedResources = true;
+        resourceListClass.maxEmbeddedSize = 1024;
+        resourceListClass.cacheContent = true;
+        resourceListClass.contentCacheSize = 2048;
+        resourceListClass.extractResources = true;
+        resourceListClass.bulkLoadResources = true;
+        resourceListClass.directResourceAccess = true;
+        resourceListClass.fileSystem = true;
+        resourceListClass.preloadResources = true;
+        resourceListClass.instrumentResources = true;
+        resourceListClass.registerMBean = true;
+        resourceListClass.useRuntimeLibrary = true;
+        resourceListClass.compile = true;
+        resourceListClass.release = "17";
 
-        assertEquals("className: test.ResourceList, publicVisibility: true, outputDirectory: /project/target/generated",
+        assertEquals("className: test.ResourceList, publicVisibility: true, outputDirectory: /project/target/generated, memoryMapResourcePack: true"
+                + ", cacheResources: true, compactResources: true, indexResources: true, initializeAtBuildTime: true, embedResources: true"
+                + ", maxEmbeddedSize: 1024, cacheContent: true, contentCacheSize: 2048, extractResources: true"
+                + ", bulkLoadResources: true, directResourceAccess: true, fileSystem: true, preloadResources: true"
+                + ", instrumentResources: true, registerMBean: true, useRuntimeLibrary: true, compile: true"
+                + ", release: 17",
                 resourceListClass.toString());
     }
 }
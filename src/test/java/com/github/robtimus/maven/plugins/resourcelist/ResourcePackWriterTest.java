@@ -0,0 +1,205 @@
+/*
+ * ResourcePackWriterTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.filesystems.memory.MemoryFileAttributeView;
+import com.github.robtimus.filesystems.memory.MemoryFileSystemProvider;
+
+@SuppressWarnings("nls")
+class ResourcePackWriterTest {
+
+    private Path baseDir;
+
+    @BeforeEach
+    void createResources() throws IOException {
+        MemoryFileSystemProvider.clear();
+
+        baseDir = Paths.get(URI.create("memory:/project/target/classes"));
+        Files.createDirectories(baseDir.resolve("dir"));
+        Files.write(baseDir.resolve("foo.txt"), "foo".getBytes(StandardCharsets.UTF_8));
+        Files.write(baseDir.resolve("dir/bar.txt"), "bar".getBytes(StandardCharsets.UTF_8));
+        Files.write(baseDir.resolve("dir/foo.txt"), "foo".getBytes(StandardCharsets.UTF_8));
+        Files.write(baseDir.resolve("dir/empty.txt"), new byte[0]);
+    }
+
+    @Test
+    void testWrite() throws MojoExecutionException, IOException {
+        Set<String> resources = new TreeSet<>(List.of("dir/bar.txt", "dir/empty.txt", "dir/foo.txt", "foo.txt"));
+        Path packFile = baseDir.resolve("META-INF/test.pack");
+
+        ResourcePackWriter writer = new ResourcePackWriter(mock(Log.class));
+        writer.write(baseDir, resources, packFile);
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(MemoryFileSystemProvider.getContent(packFile)))) {
+            assertEquals(ResourcePackWriter.MAGIC, input.readInt());
+            assertEquals(ResourcePackWriter.VERSION, input.readInt());
+            assertEquals(4, input.readInt());
+
+            // dir/bar.txt is the first content
+            assertEntry(input, "dir/bar.txt", 0, 3);
+            assertEntry(input, "dir/empty.txt", 3, 0);
+            assertEntry(input, "dir/foo.txt", 3, 3);
+            // foo.txt has the same content as dir/foo.txt
+            assertEntry(input, "foo.txt", 3, 3);
+
+            assertArrayEquals("barfoo".getBytes(StandardCharsets.UTF_8), input.readAllBytes());
+        }
+
+        assertFalse(Files.exists(baseDir.resolve("META-INF/test.pack.content")));
+    }
+
+    @Test
+    void testWriteWithLargeDuplicateContent() throws MojoExecutionException, IOException {
+        byte[] content = new byte[3 * ResourcePackWriter.BUFFER_SIZE + 1];
+        Arrays.fill(content, (byte) 'x');
+        Files.write(baseDir.resolve("large1.bin"), content);
+        Files.write(baseDir.resolve("large2.bin"), content);
+
+        Set<String> resources = new TreeSet<>(List.of("foo.txt", "large1.bin", "large2.bin"));
+        Path packFile = baseDir.resolve("test.pack");
+
+        ResourcePackWriter writer = new ResourcePackWriter(mock(Log.class));
+        writer.write(baseDir, resources, packFile);
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(MemoryFileSystemProvider.getContent(packFile)))) {
+            assertEquals(ResourcePackWriter.MAGIC, input.readInt());
+            assertEquals(ResourcePackWriter.VERSION, input.readInt());
+            assertEquals(3, input.readInt());
+
+            assertEntry(input, "foo.txt", 0, 3);
+            assertEntry(input, "large1.bin", 3, content.length);
+            // large2.bin has the same content as large1.bin, so its content is not added again
+            assertEntry(input, "large2.bin", 3, content.length);
+
+            byte[] expected = new byte[3 + content.length];
+            System.arraycopy("foo".getBytes(StandardCharsets.UTF_8), 0, expected, 0, 3);
+            System.arraycopy(content, 0, expected, 3, content.length);
+            assertArrayEquals(expected, input.readAllBytes());
+        }
+
+        assertFalse(Files.exists(baseDir.resolve("test.pack.content")));
+    }
+
+    @Test
+    void testWriteWithHotResources() throws MojoExecutionException, IOException {
+        Set<String> resources = new TreeSet<>(List.of("dir/bar.txt", "dir/empty.txt", "dir/foo.txt", "foo.txt"));
+        List<String> hotResources = List.of("foo.txt", "missing.txt", "dir/empty.txt");
+        Path packFile = baseDir.resolve("META-INF/test.pack");
+
+        ResourcePackWriter writer = new ResourcePackWriter(mock(Log.class));
+        writer.write(baseDir, resources, hotResources, packFile);
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(MemoryFileSystemProvider.getContent(packFile)))) {
+            assertEquals(ResourcePackWriter.MAGIC, input.readInt());
+            assertEquals(ResourcePackWriter.VERSION, input.readInt());
+            assertEquals(4, input.readInt());
+
+            // The index is still sorted, but foo.txt is the first content
+            assertEntry(input, "dir/bar.txt", 3, 3);
+            assertEntry(input, "dir/empty.txt", 3, 0);
+            // dir/foo.txt has the same content as foo.txt
+            assertEntry(input, "dir/foo.txt", 0, 3);
+            assertEntry(input, "foo.txt", 0, 3);
+
+            assertArrayEquals("foobar".getBytes(StandardCharsets.UTF_8), input.readAllBytes());
+        }
+    }
+
+    private void assertEntry(DataInputStream input, String expectedName, int expectedOffset, int expectedLength) throws IOException {
+        byte[] name = new byte[input.readInt()];
+        input.readFully(name);
+
+        assertEquals(expectedName, new String(name, StandardCharsets.UTF_8));
+        assertEquals(expectedOffset, input.readInt());
+        assertEquals(expectedLength, input.readInt());
+    }
+
+    @Test
+    void testWriteEmpty() throws MojoExecutionException, IOException {
+        Path packFile = baseDir.resolve("test.pack");
+
+        ResourcePackWriter writer = new ResourcePackWriter(mock(Log.class));
+        writer.write(baseDir, Set.of(), packFile);
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(MemoryFileSystemProvider.getContent(packFile)))) {
+            assertEquals(ResourcePackWriter.MAGIC, input.readInt());
+            assertEquals(ResourcePackWriter.VERSION, input.readInt());
+            assertEquals(0, input.readInt());
+
+            assertEquals(-1, input.read());
+        }
+    }
+
+    @Test
+    void testMissingResource() {
+        Set<String> resources = Set.of("missing.txt");
+        Path packFile = baseDir.resolve("test.pack");
+
+        ResourcePackWriter writer = new ResourcePackWriter(mock(Log.class));
+
+        MojoExecutionException exception = assertThrows(MojoExecutionException.class, () -> writer.write(baseDir, resources, packFile));
+
+        NoSuchFileException cause = assertInstanceOf(NoSuchFileException.class, exception.getCause());
+        assertEquals(cause.getMessage(), exception.getMessage());
+
+        assertFalse(Files.exists(packFile));
+        assertFalse(Files.exists(baseDir.resolve("test.pack.content")));
+    }
+
+    @Test
+    void testWriteError() throws IOException {
+        Set<String> resources = Set.of("foo.txt");
+        Path packFile = baseDir.resolve("META-INF/test.pack");
+
+        Files.createDirectories(packFile.getParent());
+        Files.getFileAttributeView(packFile.getParent(), MemoryFileAttributeView.class).setReadOnly(true);
+
+        ResourcePackWriter writer = new ResourcePackWriter(mock(Log.class));
+
+        MojoExecutionException exception = assertThrows(MojoExecutionException.class, () -> writer.write(baseDir, resources, packFile));
+
+        AccessDeniedException cause = assertInstanceOf(AccessDeniedException.class, exception.getCause());
+        assertEquals(packFile.getParent().toString(), cause.getFile());
+
+        assertFalse(Files.exists(packFile));
+    }
+}
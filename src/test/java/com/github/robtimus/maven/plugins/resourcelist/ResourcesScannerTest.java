@@ -19,14 +19,21 @@ package com.github.robtimus.maven.plugins.resourcelist;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -48,10 +55,11 @@ class ResourcesScannerTest {
             ResourcesScanner scanner = new ResourcesScanner(null, null, true, log);
             Path baseDir = Paths.get("src/main/resources");
 
-            Set<String> resources = scanner.scan(baseDir);
+            Set<String> resources = scanner.scan(baseDir).keySet();
 
             assertThat(resources, contains(
                     "com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template",
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListFacade.java.template",
                     "com/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties"
             ));
         }
@@ -62,11 +70,12 @@ class ResourcesScannerTest {
             ResourcesScanner scanner = new ResourcesScanner(null, null, false, log);
             Path baseDir = Paths.get("src/main/resources");
 
-            Set<String> resources = scanner.scan(baseDir);
+            Set<String> resources = scanner.scan(baseDir).keySet();
 
             assertThat(resources, contains(
                     "META-INF/m2e/lifecycle-mapping-metadata.xml",
                     "com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template",
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListFacade.java.template",
                     "com/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties"
             ));
         }
@@ -78,7 +87,7 @@ class ResourcesScannerTest {
             ResourcesScanner scanner = new ResourcesScanner(includes, null, false, log);
             Path baseDir = Paths.get("src/main/resources");
 
-            Set<String> resources = scanner.scan(baseDir);
+            Set<String> resources = scanner.scan(baseDir).keySet();
 
             assertThat(resources, contains(
                     "META-INF/m2e/lifecycle-mapping-metadata.xml"
@@ -92,11 +101,12 @@ class ResourcesScannerTest {
             ResourcesScanner scanner = new ResourcesScanner(null, excludes, false, log);
             Path baseDir = Paths.get("src/main/resources");
 
-            Set<String> resources = scanner.scan(baseDir);
+            Set<String> resources = scanner.scan(baseDir).keySet();
 
             assertThat(resources, contains(
                     "META-INF/m2e/lifecycle-mapping-metadata.xml",
-                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template"
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template",
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListFacade.java.template"
             ));
         }
 
@@ -107,10 +117,11 @@ class ResourcesScannerTest {
             ResourcesScanner scanner = new ResourcesScanner(null, excludes, true, log);
             Path baseDir = Paths.get("src/main/resources");
 
-            Set<String> resources = scanner.scan(baseDir);
+            Set<String> resources = scanner.scan(baseDir).keySet();
 
             assertThat(resources, contains(
-                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template"
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template",
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListFacade.java.template"
             ));
         }
 
@@ -122,9 +133,10 @@ class ResourcesScannerTest {
 
             scanner.excludeFile(baseDir.resolve("com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template"));
 
-            Set<String> resources = scanner.scan(baseDir);
+            Set<String> resources = scanner.scan(baseDir).keySet();
 
             assertThat(resources, contains(
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListFacade.java.template",
                     "com/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties"
             ));
         }
@@ -135,14 +147,29 @@ class ResourcesScannerTest {
             ResourcesScanner scanner = new ResourcesScanner(null, null, true, log);
             Path baseDir = Paths.get("target/classes");
 
-            Set<String> resources = scanner.scan(baseDir);
+            Set<String> resources = scanner.scan(baseDir).keySet();
 
             assertThat(resources, contains(
                     "com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template",
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListFacade.java.template",
                     "com/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties"
             ));
         }
 
+        @Test
+        void testResourceSizes() throws MojoExecutionException, IOException {
+            Log log = mock(Log.class);
+            ResourcesScanner scanner = new ResourcesScanner(null, null, true, log);
+            Path baseDir = Paths.get("src/main/resources");
+
+            Map<String, Long> resources = scanner.scan(baseDir);
+
+            assertEquals(3, resources.size());
+            for (Map.Entry<String, Long> entry : resources.entrySet()) {
+                assertEquals(Files.size(baseDir.resolve(entry.getKey())), entry.getValue().longValue());
+            }
+        }
+
         @Test
         void testIOException() {
             Log log = mock(Log.class);
@@ -154,6 +181,126 @@ class ResourcesScannerTest {
             NoSuchFileException cause = assertInstanceOf(NoSuchFileException.class, exception.getCause());
             assertEquals(cause.getMessage(), exception.getMessage());
         }
+
+        @Test
+        void testStatistics() throws MojoExecutionException {
+            Log log = mock(Log.class);
+            ResourcesScanner scanner = new ResourcesScanner(null, null, true, log);
+            Path baseDir = Paths.get("src/main/resources");
+
+            scanner.scan(baseDir);
+
+            ScanStatistics statistics = scanner.statistics();
+            // META-INF/m2e is skipped because META-INF/m2e/** excludes all of its files
+            assertEquals(8, statistics.directoriesVisited);
+            assertEquals(3, statistics.filesVisited);
+            assertEquals(1, statistics.subtreesPruned);
+            assertEquals(3, statistics.resourcesIncluded);
+            assertEquals(0, statistics.resourcesNotIncluded);
+            assertEquals(0, statistics.resourcesExcluded);
+            assertArrayEquals(new long[0], statistics.includeHits);
+            assertArrayEquals(new long[5], statistics.excludeHits);
+
+            verify(log).debug(Messages.ResourcesScanner.subtreePruned(baseDir.resolve("META-INF/m2e")));
+        }
+
+        @Test
+        void testStatisticsWithCustomIncludes() throws MojoExecutionException {
+            String[] includes = {"com/**/*.properties", "**/*.template"};
+            Log log = mock(Log.class);
+            ResourcesScanner scanner = new ResourcesScanner(includes, null, false, log);
+            Path baseDir = Paths.get("src/main/resources");
+
+            scanner.scan(baseDir);
+
+            ScanStatistics statistics = scanner.statistics();
+            // META-INF is not skipped because **/*.template can match files in it
+            assertEquals(9, statistics.directoriesVisited);
+            assertEquals(4, statistics.filesVisited);
+            assertEquals(0, statistics.subtreesPruned);
+            assertEquals(3, statistics.resourcesIncluded);
+            assertEquals(1, statistics.resourcesNotIncluded);
+            assertEquals(0, statistics.resourcesExcluded);
+            assertArrayEquals(new long[] { 1, 2 }, statistics.includeHits);
+            assertArrayEquals(new long[0], statistics.excludeHits);
+        }
+
+        @Test
+        void testPrunedSubtrees() throws MojoExecutionException {
+            String[] includes = {"com/**/*.properties"};
+            Log log = mock(Log.class);
+            ResourcesScanner scanner = new ResourcesScanner(includes, null, true, log);
+            Path baseDir = Paths.get("src/main/resources");
+
+            Set<String> resources = scanner.scan(baseDir).keySet();
+
+            assertThat(resources, contains(
+                    "com/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties"
+            ));
+
+            ScanStatistics statistics = scanner.statistics();
+            assertEquals(7, statistics.directoriesVisited);
+            assertEquals(3, statistics.filesVisited);
+            assertEquals(1, statistics.subtreesPruned);
+
+            verify(log).debug(Messages.ResourcesScanner.subtreePruned(baseDir.resolve("META-INF")));
+        }
+
+        @Test
+        void testStatisticsAreResetForEachScan() throws MojoExecutionException {
+            Log log = mock(Log.class);
+            ResourcesScanner scanner = new ResourcesScanner(null, null, true, log);
+            Path baseDir = Paths.get("src/main/resources");
+
+            scanner.scan(baseDir);
+            scanner.scan(baseDir);
+
+            ScanStatistics statistics = scanner.statistics();
+            assertEquals(3, statistics.filesVisited);
+            assertEquals(3, statistics.resourcesIncluded);
+        }
+
+        @Test
+        void testLogResources() throws MojoExecutionException {
+            Log log = mock(Log.class);
+            when(log.isDebugEnabled()).thenReturn(true);
+            ResourcesScanner scanner = new ResourcesScanner(new String[] { "**/*.template" }, new String[] { "**/*Facade*" }, false, true, log);
+            Path baseDir = Paths.get("src/main/resources");
+
+            scanner.scan(baseDir);
+
+            verify(log).debug(Messages.ResourcesScanner.resourceIncluded(
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template"));
+            verify(log).debug(Messages.ResourcesScanner.resourceExcluded(
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListFacade.java.template"));
+            verify(log).debug(Messages.ResourcesScanner.resourceNotIncluded(
+                    "com/github/robtimus/maven/plugins/resourcelist/resource-list-maven-plugin.properties"));
+        }
+
+        @Test
+        void testLogResourcesWithoutDebugLogging() throws MojoExecutionException {
+            Log log = mock(Log.class);
+            ResourcesScanner scanner = new ResourcesScanner(new String[] { "**/*.template" }, null, false, true, log);
+            Path baseDir = Paths.get("src/main/resources");
+
+            scanner.scan(baseDir);
+
+            verify(log, never()).debug(Messages.ResourcesScanner.resourceIncluded(
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template"));
+        }
+
+        @Test
+        void testResourcesNotLoggedByDefault() throws MojoExecutionException {
+            Log log = mock(Log.class);
+            when(log.isDebugEnabled()).thenReturn(true);
+            ResourcesScanner scanner = new ResourcesScanner(new String[] { "**/*.template" }, null, false, log);
+            Path baseDir = Paths.get("src/main/resources");
+
+            scanner.scan(baseDir);
+
+            verify(log, never()).debug(Messages.ResourcesScanner.resourceIncluded(
+                    "com/github/robtimus/maven/plugins/resourcelist/ResourceListClass.java.template"));
+        }
     }
 
     // The following two tests don't actually test the code but more the developer's understanding of SelectorUtils.matchPath
@@ -186,4 +333,39 @@ class ResourcesScannerTest {
     void testMatchesPattern(String relativePath, String pattern, boolean expected) {
         assertEquals(expected, ResourcesScanner.matches(relativePath, pattern));
     }
+
+    @ParameterizedTest
+    @CsvSource({
+            "**/*.xml,       META-INF,        true",
+            "**/*.xml,       META-INF/m2e,    true",
+            "META-INF/*.xml, META-INF,        true",
+            "META-INF/*.xml, META-INF/m2e,    false",
+            "META-INF/*.xml, com,             false",
+            "*.xml,          META-INF,        false",
+            "a/**,           a/b/c,           true",
+            "a/**,           b,               false",
+            "a/*/c/d,        a/b/c,           true",
+            "a/*/c/d,        a/b/d,           false",
+            "a/*/c/d,        a/b/c/d,         false",
+            "a/b*/**,        a/bc/d,          true",
+            "a/b*/**,        a/cb/d,          false",
+            "'%regex[.*]',   a/b/c,           true",
+    })
+    void testCanMatchInDirectory(String pattern, String relativeDirectory, boolean expected) {
+        assertEquals(expected, ResourcesScanner.canMatchInDirectory(pattern, relativeDirectory));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "META-INF/m2e/**,   META-INF/m2e,   true",
+            "META-INF/m2e/**,   META-INF,       false",
+            "META-INF/m2e/**,   META-INF/maven, false",
+            "**/test/**,        a/b/test,       true",
+            "**/test/**,        a/testing,      false",
+            "META-INF/*,        META-INF,       false",
+            "'%regex[a/.*]',    a,              false",
+    })
+    void testMatchesAllInDirectory(String pattern, String relativeDirectory, boolean expected) {
+        assertEquals(expected, ResourcesScanner.matchesAllInDirectory(pattern, relativeDirectory));
+    }
 }
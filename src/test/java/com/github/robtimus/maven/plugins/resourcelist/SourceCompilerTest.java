@@ -0,0 +1,130 @@
+/*
+ * SourceCompilerTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.github.robtimus.filesystems.memory.MemoryFileSystemProvider;
+
+@SuppressWarnings("nls")
+class SourceCompilerTest {
+
+    @BeforeEach
+    void clearMemoryFileSystem() {
+        MemoryFileSystemProvider.clear();
+    }
+
+    @Test
+    void testCompile() throws MojoExecutionException, IOException {
+        String source = "package test;\n"
+                + "class Outer {\n"
+                + "    static class Inner {\n"
+                + "    }\n"
+                + "}\n";
+
+        Path outputDirectory = Paths.get(URI.create("memory:/classes"));
+
+        SourceCompiler compiler = new SourceCompiler();
+        compiler.compile("test.Outer", source, "11", outputDirectory);
+
+        byte[] outerClass = Files.readAllBytes(outputDirectory.resolve("test/Outer.class"));
+        assertEquals(0xCAFEBABE, readInt(outerClass, 0));
+        // major version 55 is Java 11
+        assertEquals(55, readInt(outerClass, 4) & 0xFFFF);
+
+        assertTrue(Files.exists(outputDirectory.resolve("test/Outer$Inner.class")));
+    }
+
+    @Test
+    void testCompileWithoutRelease() throws MojoExecutionException, IOException {
+        String source = "package test;\n"
+                + "class Simple {\n"
+                + "}\n";
+
+        Path outputDirectory = Paths.get(URI.create("memory:/classes"));
+
+        SourceCompiler compiler = new SourceCompiler();
+        compiler.compile("test.Simple", source, null, outputDirectory);
+
+        assertTrue(Files.exists(outputDirectory.resolve("test/Simple.class")));
+    }
+
+    @Test
+    void testCompilationError() {
+        String source = "package test;\n"
+                + "class Invalid {\n"
+                + "    UnknownType field;\n"
+                + "}\n";
+
+        Path outputDirectory = Paths.get(URI.create("memory:/classes"));
+
+        SourceCompiler compiler = new SourceCompiler();
+
+        MojoExecutionException exception = assertThrows(MojoExecutionException.class,
+                () -> compiler.compile("test.Invalid", source, null, outputDirectory));
+        assertThat(exception.getMessage(), containsString("test.Invalid"));
+        assertThat(exception.getMessage(), containsString("UnknownType"));
+
+        assertFalse(Files.exists(outputDirectory.resolve("test/Invalid.class")));
+    }
+
+    @Test
+    void testDependencyOnClassPath() {
+        // The class path of the Maven process should not be available
+        String source = "package test;\n"
+                + "class WithDependency {\n"
+                + "    org.apache.maven.plugin.MojoExecutionException field;\n"
+                + "}\n";
+
+        Path outputDirectory = Paths.get(URI.create("memory:/classes"));
+
+        SourceCompiler compiler = new SourceCompiler();
+
+        assertThrows(MojoExecutionException.class, () -> compiler.compile("test.WithDependency", source, null, outputDirectory));
+    }
+
+    @Test
+    void testCompilerNotAvailable() {
+        Path outputDirectory = Paths.get(URI.create("memory:/classes"));
+
+        SourceCompiler compiler = new SourceCompiler(null);
+
+        MojoExecutionException exception = assertThrows(MojoExecutionException.class,
+                () -> compiler.compile("test.Simple", "package test; class Simple {}", null, outputDirectory));
+        assertEquals(Messages.SourceCompiler.compilerNotAvailable(), exception.getMessage());
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24
+                | (bytes[offset + 1] & 0xFF) << 16
+                | (bytes[offset + 2] & 0xFF) << 8
+                | bytes[offset + 3] & 0xFF;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * TemplateTest.java
+ * Copyright 2026 Rob Spoor
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.robtimus.maven.plugins.resourcelist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+@SuppressWarnings("nls")
+class TemplateTest {
+
+    @Test
+    void testLoad() throws IOException {
+        Template template = Template.load("ResourceListClass.java.template");
+
+        String content = template.render(Map.of(), Set.of());
+
+        assertTrue(content.startsWith("// This file has been generated by resource-list-maven-plugin"));
+    }
+
+    @Nested
+    class Render {
+
+        @Test
+        void testVariables() {
+            Template template = new Template("test", "Hello ${name}, ${greeting} ${unknown}\n");
+
+            String content = template.render(Map.of("name", "World", "greeting", "${name}"), Set.of());
+
+            assertEquals("Hello World, ${name} ${unknown}\n", content);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "'',      'before\\nafter\\n'",
+                "foo,     'before\\nfoo\\nafter\\n'",
+                "bar,     'before\\nnot foo\\nbar\\nafter\\n'",
+                "foo;bar, 'before\\nfoo\\nfoo and bar\\nafter\\n'"
+        })
+        void testConditionalBlocks(String flags, String expected) {
+            String text = "before\n"
+                    + "#if foo\n"
+                    + "foo\n"
+                    + "  #if bar\n"
+                    + "foo and bar\n"
+                    + "  #end\n"
+                    + "#else\n"
+                    + "#if bar\n"
+                    + "not foo\n"
+                    + "#end\n"
+                    + "#if !bar\n"
+                    + "#end\n"
+                    + "#end\n"
+                    + "#if bar\n"
+                    + "#if !foo\n"
+                    + "bar\n"
+                    + "#end\n"
+                    + "#end\n"
+                    + "after\n";
+
+            Template template = new Template("test", text);
+
+            String content = template.render(Map.of(), flags.isEmpty() ? Set.of() : Set.of(flags.split(";")));
+
+            assertEquals(expected.replace("\\n", "\n"), content);
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+                "'',          'before\\nnot foo or bar\\nafter\\n'",
+                "foo,         'before\\nfoo or bar\\nafter\\n'",
+                "bar,         'before\\nfoo or bar\\nnot foo or bar\\nafter\\n'",
+                "baz,         'before\\nafter\\n'",
+                "foo;bar;baz, 'before\\nfoo or bar\\nafter\\n'"
+        })
+        void testConditionalBlocksWithAlternatives(String flags, String expected) {
+            String text = "before\n"
+                    + "#if foo || bar\n"
+                    + "foo or bar\n"
+                    + "#end\n"
+                    + "#if !foo||!bar\n"
+                    + "#if !baz\n"
+                    + "#if !foo || bar\n"
+                    + "not foo or bar\n"
+                    + "#end\n"
+                    + "#end\n"
+                    + "#end\n"
+                    + "after\n";
+
+            Template template = new Template("test", text);
+
+            String content = template.render(Map.of(), flags.isEmpty() ? Set.of() : Set.of(flags.split(";")));
+
+            assertEquals(expected.replace("\\n", "\n"), content);
+        }
+
+        @Test
+        void testUnexpectedElse() {
+            Template template = new Template("test", "foo\n#else\nbar\n");
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> template.render(Map.of(), Set.of()));
+            assertEquals(Messages.Template.unexpectedDirective("test", "#else"), exception.getMessage());
+        }
+
+        @Test
+        void testUnexpectedEnd() {
+            Template template = new Template("test", "foo\n#end\n");
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> template.render(Map.of(), Set.of()));
+            assertEquals(Messages.Template.unexpectedDirective("test", "#end"), exception.getMessage());
+        }
+
+        @Test
+        void testMissingEnd() {
+            Template template = new Template("test", "#if foo\nfoo");
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class, () -> template.render(Map.of(), Set.of()));
+            assertEquals(Messages.Template.missingEnd("test"), exception.getMessage());
+        }
+    }
+}